@@ -10,6 +10,7 @@ plugins {
     id("com.github.sgtsilvio.gradle.utf8")
     id("com.github.sgtsilvio.gradle.metadata")
     id("com.github.sgtsilvio.gradle.javadoc-links")
+    id("me.champeau.jmh")
 }
 
 
@@ -168,6 +169,13 @@ val integrationTest by tasks.registering(Test::class) {
 
 tasks.check { dependsOn(integrationTest) }
 
+/* ******************** benchmarks ******************** */
+
+jmh {
+    jmhVersion.set("${property("jmh.version")}")
+    profilers.add("gc")
+}
+
 /* ******************** jars ******************** */
 
 allprojects {
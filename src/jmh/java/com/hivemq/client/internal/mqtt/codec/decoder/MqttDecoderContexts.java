@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates decoder contexts for benchmarks of decoders in other packages, the constructor of {@link MqttDecoderContext}
+ * is package-private.
+ *
+ * @author agent
+ */
+public final class MqttDecoderContexts {
+
+    public static @NotNull MqttDecoderContext publishPayloadContext(
+            final boolean directBufferPayload, final boolean zeroCopyPayload) {
+
+        return new MqttDecoderContext(Integer.MAX_VALUE, 0, false, false, false, directBufferPayload, false, false,
+                zeroCopyPayload, false, 0);
+    }
+
+    private MqttDecoderContexts() {}
+}
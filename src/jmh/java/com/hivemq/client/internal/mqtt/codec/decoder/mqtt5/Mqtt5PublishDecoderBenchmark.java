@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContexts;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding publish payloads into heap buffers, direct buffers and without copying (zero copy).
+ * <p>
+ * Run with <code>./gradlew jmh</code>. The <code>decode</code> benchmark only measures decoding. The
+ * <code>decodeAndTransfer</code> benchmark additionally simulates handing the payload to a NIO channel or native
+ * code, which requires a heap payload to be copied into direct memory first.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Mqtt5PublishDecoderBenchmark {
+
+    private static final byte @NotNull [] TOPIC = "benchmark/topic".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1024", "65536", "1048576"})
+    public int payloadSize;
+
+    @Param({"heap", "direct", "zeroCopy"})
+    public @Nullable String payloadMode;
+
+    private final @NotNull Mqtt5PublishDecoder decoder = new Mqtt5PublishDecoder();
+    private @Nullable MqttDecoderContext context;
+    private @Nullable ByteBuf in;
+    private @Nullable ByteBuffer transferBuffer;
+
+    @Setup
+    public void setup() {
+        final boolean direct = "direct".equals(payloadMode);
+        final boolean zeroCopy = "zeroCopy".equals(payloadMode);
+        context = MqttDecoderContexts.publishPayloadContext(direct, zeroCopy);
+        // variable header and payload of a QoS 0 publish, the fixed header is consumed by MqttDecoder
+        in = PooledByteBufAllocator.DEFAULT.directBuffer(2 + TOPIC.length + 1 + payloadSize);
+        in.writeShort(TOPIC.length).writeBytes(TOPIC).writeByte(0).writeZero(payloadSize);
+        transferBuffer = ByteBuffer.allocateDirect(payloadSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        assert in != null;
+        in.release();
+    }
+
+    @Benchmark
+    public void decode(final @NotNull Blackhole blackhole) throws MqttDecoderException {
+        final MqttPublish publish = decodePublish();
+        blackhole.consume(publish.getRawPayload());
+        publish.releasePayload();
+    }
+
+    @Benchmark
+    public void decodeAndTransfer(final @NotNull Blackhole blackhole) throws MqttDecoderException {
+        assert transferBuffer != null;
+        final MqttPublish publish = decodePublish();
+        final ByteBuffer payload = publish.getRawPayload();
+        assert payload != null;
+        if (payload.isDirect()) {
+            blackhole.consume(payload);
+        } else {
+            transferBuffer.clear();
+            transferBuffer.put(payload.duplicate());
+            blackhole.consume(transferBuffer);
+        }
+        publish.releasePayload();
+    }
+
+    private @NotNull MqttPublish decodePublish() throws MqttDecoderException {
+        assert (in != null) && (context != null);
+        in.readerIndex(0);
+        return decoder.decode(0, in, context).stateless();
+    }
+}
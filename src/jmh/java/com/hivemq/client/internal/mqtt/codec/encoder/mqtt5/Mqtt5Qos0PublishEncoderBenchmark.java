@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
+
+/**
+ * Measures the allocation of encoding QoS 0 publishes into a reused buffer.
+ * <p>
+ * Run with <code>./gradlew jmh</code>, the gc profiler reports the allocation per message (gc.alloc.rate.norm).
+ * Encoding with a reusable stateful publish, as done for QoS 0 publishes of fire-and-forget flows, must not allocate
+ * at all.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Mqtt5Qos0PublishEncoderBenchmark {
+
+    @Param({"16", "1024"})
+    public int payloadSize;
+
+    private final @NotNull Mqtt5PublishEncoder encoder = new Mqtt5PublishEncoder();
+    private @Nullable MqttPublish publish;
+    private MqttStatefulPublish.@Nullable Reusable statefulPublish;
+    private @Nullable ByteBuf out;
+    private int remainingLength;
+    private int propertyLength;
+
+    @Setup
+    public void setup() {
+        publish = (MqttPublish) Mqtt5Publish.builder()
+                .topic("benchmark/topic")
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(new byte[payloadSize])
+                .build();
+        statefulPublish = publish.createStatefulQos0(null, null);
+        propertyLength = encoder.propertyLength(statefulPublish);
+        remainingLength = encoder.remainingLengthWithoutProperties(statefulPublish) +
+                MqttMessageEncoderUtil.encodedLengthWithHeader(propertyLength);
+        final int encodedLength = MqttMessageEncoderUtil.encodedPacketLength(remainingLength);
+        out = PooledByteBufAllocator.DEFAULT.ioBuffer(encodedLength, encodedLength);
+    }
+
+    @TearDown
+    public void tearDown() {
+        assert out != null;
+        out.release();
+    }
+
+    @Benchmark
+    public void encode(final @NotNull Blackhole blackhole) {
+        assert (publish != null) && (out != null);
+        out.clear();
+        encoder.encode(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, null), out, remainingLength,
+                propertyLength, 0);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    public void encodeReusableStateful(final @NotNull Blackhole blackhole) {
+        assert (publish != null) && (out != null);
+        out.clear();
+        statefulPublish = publish.createStatefulQos0(statefulPublish, null);
+        encoder.encode(statefulPublish, out, remainingLength, propertyLength, 0);
+        blackhole.consume(out);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.datatypes;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating and encoding a Topic Name per message with reusing a registered, pre-encoded Topic Name.
+ * <p>
+ * Run with <code>./gradlew jmh</code>. <code>ofString</code> is the cost of publishing with a string topic,
+ * <code>reusedTopic</code> of reusing a topic that was created once with {@link MqttTopicImpl#of(String)} (which
+ * still converts between UTF-16 and UTF-8 until it keeps both), <code>registeredTopic</code> of reusing a
+ * registered topic and <code>registryLookup</code> of looking up the registered topic by its string per message.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MqttTopicRegistryBenchmark {
+
+    @Param({"sensors/building-1/floor-2/room-3/temperature", "Sensoren/Geb\u00e4ude-1/Stockwerk-2/Raum-3/Temperatur"})
+    public @Nullable String topicString;
+
+    private final @NotNull MqttTopicRegistry registry = new MqttTopicRegistry();
+    private @Nullable MqttTopicImpl reusedTopic;
+    private @Nullable MqttTopicImpl registeredTopic;
+    private @Nullable ByteBuf out;
+
+    @Setup
+    public void setup() {
+        reusedTopic = MqttTopicImpl.of(topicString);
+        registeredTopic = registry.get(topicString);
+        out = PooledByteBufAllocator.DEFAULT.ioBuffer(1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        assert out != null;
+        out.release();
+    }
+
+    @Benchmark
+    public void ofString(final @NotNull Blackhole blackhole) {
+        encode(MqttTopicImpl.of(topicString), blackhole);
+    }
+
+    @Benchmark
+    public void reusedTopic(final @NotNull Blackhole blackhole) {
+        assert reusedTopic != null;
+        blackhole.consume(reusedTopic.toString()); // e.g. logged or used for routing by the application
+        encode(reusedTopic, blackhole);
+    }
+
+    @Benchmark
+    public void registeredTopic(final @NotNull Blackhole blackhole) {
+        assert registeredTopic != null;
+        blackhole.consume(registeredTopic.toString());
+        encode(registeredTopic, blackhole);
+    }
+
+    @Benchmark
+    public void registryLookup(final @NotNull Blackhole blackhole) {
+        encode(registry.get(topicString), blackhole);
+    }
+
+    private void encode(final @NotNull MqttTopicImpl topic, final @NotNull Blackhole blackhole) {
+        assert out != null;
+        out.clear();
+        blackhole.consume(topic.encodedLength());
+        topic.encode(out);
+        blackhole.consume(out);
+    }
+}
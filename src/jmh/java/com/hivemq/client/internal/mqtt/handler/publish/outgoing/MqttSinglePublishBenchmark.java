@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the submission of single publishes via {@link MqttPublishFlowables} (Flowable.just + flatMap) with the
+ * direct path into the queue of the {@link MqttOutgoingQosHandler}.
+ * <p>
+ * Run with <code>./gradlew jmh</code>, the gc profiler reports the allocation per message.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MqttSinglePublishBenchmark {
+
+    private @Nullable NoopAckFlow ackFlow;
+    private @Nullable MqttPublish publish;
+
+    private @Nullable MqttPublishFlowables publishFlowables;
+    private final @NotNull QueueSubscriber queueSubscriber = new QueueSubscriber();
+
+    private final @NotNull MpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new MpscUnboundedArrayQueue<>(32);
+
+    @Setup
+    public void setup() {
+        final MqttClientConfig clientConfig = (MqttClientConfig) Mqtt5Client.builder().buildRx().getConfig();
+        ackFlow = new NoopAckFlow(clientConfig);
+        publish = (MqttPublish) Mqtt5Publish.builder()
+                .topic("benchmark/topic")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[64])
+                .build();
+
+        publishFlowables = new MqttPublishFlowables();
+        publishFlowables.flatMap(f -> f, true, 64, Flowable.bufferSize()).subscribe(queueSubscriber);
+    }
+
+    @TearDown
+    public void tearDown() {
+        assert ackFlow != null;
+        ackFlow.cancel();
+    }
+
+    @Benchmark
+    public void flatMap(final @NotNull Blackhole blackhole) {
+        assert (publishFlowables != null) && (publish != null) && (ackFlow != null);
+        queueSubscriber.blackhole = blackhole;
+        publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, ackFlow)));
+    }
+
+    @Benchmark
+    public void direct(final @NotNull Blackhole blackhole) {
+        assert (publish != null) && (ackFlow != null);
+        queue.offer(new MqttPublishWithFlow(publish, ackFlow));
+        blackhole.consume(queue.poll());
+    }
+
+    private static class QueueSubscriber implements FlowableSubscriber<MqttPublishWithFlow> {
+
+        private @Nullable Subscription subscription;
+        @Nullable Blackhole blackhole;
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(64);
+        }
+
+        @Override
+        public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+            assert (subscription != null) && (blackhole != null);
+            blackhole.consume(publishWithFlow);
+            subscription.request(1); // simulates the acknowledgement
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {}
+
+        @Override
+        public void onComplete() {}
+    }
+
+    private static class NoopAckFlow extends MqttAckFlow {
+
+        NoopAckFlow(final @NotNull MqttClientConfig clientConfig) {
+            super(clientConfig);
+            init();
+        }
+
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {}
+
+        @Override
+        void acknowledged(final long acknowledged) {}
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the UTF-8 validation with an ASCII fast path with the previous byte by byte validation.
+ * <p>
+ * Run with <code>./gradlew jmh</code>. <code>byteByByte</code> is the previous validation of a payload (copying a
+ * direct payload buffer into a byte array first), <code>bytes</code>, <code>heapBuffer</code> and
+ * <code>directBuffer</code> use the current validation without copying.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Utf8UtilBenchmark {
+
+    private static final @NotNull String ASCII = "{\"sensor\":\"temperature\",\"value\":21.5,\"unit\":\"celsius\"} ";
+    private static final @NotNull String MIXED = "{\"Sensor\":\"Temperatur\",\"Wert\":21.5,\"Einheit\":\"\u00B0C\"} " +
+            "\u0422\u0435\u043C\u043F\u0435\u0440\u0430\u0442\u0443\u0440\u0430 \u6E29\u5EA6 \uD83C\uDF21 ";
+
+    @Param({"ascii", "mixed"})
+    public @Nullable String input;
+
+    @Param({"64", "1024"})
+    public int size;
+
+    private byte @Nullable [] bytes;
+    private @Nullable ByteBuffer heapBuffer;
+    private @Nullable ByteBuffer directBuffer;
+
+    @Setup
+    public void setup() {
+        final String pattern = "ascii".equals(input) ? ASCII : MIXED;
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < size) {
+            builder.append(pattern);
+        }
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+    }
+
+    @Benchmark
+    public long byteByByte() {
+        assert directBuffer != null;
+        return isWellFormedByteByByte(ByteBufferUtil.getBytes(directBuffer));
+    }
+
+    @Benchmark
+    public long bytes() {
+        assert bytes != null;
+        return Utf8Util.isWellFormed(bytes);
+    }
+
+    @Benchmark
+    public long heapBuffer() {
+        assert heapBuffer != null;
+        return Utf8Util.isWellFormed(heapBuffer);
+    }
+
+    @Benchmark
+    public long directBuffer() {
+        assert directBuffer != null;
+        return Utf8Util.isWellFormed(directBuffer);
+    }
+
+    private static long isWellFormedByteByByte(final byte @NotNull [] bytes) {
+        int index = 0;
+        final int end = bytes.length;
+        while (true) {
+
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
+                }
+            } while ((byte1 = bytes[index++]) >= 0);
+
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                if ((index == end) || (byte1 < (byte) 0xC2) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            } else if (byte1 < (byte) 0xF0) { // 3 bytes
+                if (index + 1 >= end) {
+                    return index;
+                }
+                final byte byte2 = bytes[index++];
+                if ((byte2 > (byte) 0xBF) || ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) ||
+                        ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            } else { // 4 bytes
+                if (index + 2 >= end) {
+                    return index;
+                }
+                final byte byte2 = bytes[index++];
+                if ((byte2 > (byte) 0xBF) || ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) ||
+                        ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F)) || (byte1 > (byte) 0xF4) ||
+                        (bytes[index++] > (byte) 0xBF) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            }
+        }
+    }
+}
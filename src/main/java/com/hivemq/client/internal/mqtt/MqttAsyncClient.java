@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
@@ -29,6 +30,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilde
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.rx.RxFutureConverter;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
@@ -41,13 +43,16 @@ import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -154,7 +159,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
 
         return handleSubAck(delegate.subscribePublishes(mqttSubscribe, manualAcknowledgement)
-                .subscribeSingleFuture(new CallbackSubscriber(callback)), mqttSubscribe);
+                .subscribeSingleFuture(callbackSubscriber(callback, null)), mqttSubscribe);
     }
 
     @Override
@@ -170,7 +175,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
 
         return handleSubAck(delegate.subscribePublishesUnsafe(mqttSubscribe, manualAcknowledgement)
                 .observeOnBoth(Schedulers.from(executor), true)
-                .subscribeSingleFuture(new CallbackSubscriber(callback)), mqttSubscribe);
+                .subscribeSingleFuture(callbackSubscriber(callback, executor)), mqttSubscribe);
     }
 
     @Override
@@ -203,7 +208,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(filter, "Global publish filter");
         Checks.notNull(callback, "Callback");
 
-        delegate.publishes(filter, manualAcknowledgement).subscribe(new CallbackSubscriber(callback));
+        delegate.publishes(filter, manualAcknowledgement).subscribe(callbackSubscriber(callback, null));
     }
 
     @Override
@@ -219,7 +224,56 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
 
         delegate.publishesUnsafe(filter, manualAcknowledgement)
                 .observeOn(Schedulers.from(executor), true)
-                .subscribe(new CallbackSubscriber(callback));
+                .subscribe(callbackSubscriber(callback, executor));
+    }
+
+    @Override
+    public void publishesBatched(
+            final @Nullable MqttGlobalPublishFilter filter,
+            final int maxBatchSize,
+            final long maxDelay,
+            final @Nullable TimeUnit timeUnit,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback) {
+
+        publishesBatched(filter, maxBatchSize, maxDelay, timeUnit, callback,
+                delegate.getConfig().getExecutorConfig().getApplicationScheduler());
+    }
+
+    @Override
+    public void publishesBatched(
+            final @Nullable MqttGlobalPublishFilter filter,
+            final int maxBatchSize,
+            final long maxDelay,
+            final @Nullable TimeUnit timeUnit,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            final @Nullable Executor executor) {
+
+        Checks.notNull(executor, "Executor");
+
+        publishesBatched(filter, maxBatchSize, maxDelay, timeUnit, callback, Schedulers.from(executor));
+    }
+
+    private void publishesBatched(
+            final @Nullable MqttGlobalPublishFilter filter,
+            final int maxBatchSize,
+            final long maxDelay,
+            final @Nullable TimeUnit timeUnit,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            final @NotNull Scheduler scheduler) {
+
+        Checks.notNull(filter, "Global publish filter");
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be greater than 0. Found: " + maxBatchSize);
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum delay must be positive or zero.");
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        Checks.notNull(callback, "Callback");
+
+        delegate.publishesUnsafe(filter, false)
+                .subscribe(new MqttBatchCallbackSubscriber(callback, maxBatchSize, timeUnit.toNanos(maxDelay),
+                        scheduler));
     }
 
     @Override
@@ -248,6 +302,15 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            final @Nullable Iterable<? extends @Nullable Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+
+        return RxFutureConverter.toFuture(delegate.publishAll(mqttPublishes));
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> reauth() {
         return RxFutureConverter.toFuture(delegate.reauth());
@@ -275,6 +338,11 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return delegate.getConfig();
     }
 
+    @Override
+    public @NotNull MqttTopicImpl topic(final @Nullable String topic) {
+        return delegate.topic(topic);
+    }
+
     @Override
     public @NotNull MqttRxClient toRx() {
         return delegate;
@@ -285,6 +353,21 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return delegate.toBlocking();
     }
 
+    private @NotNull FlowableSubscriber<Mqtt5Publish> callbackSubscriber(
+            final @NotNull Consumer<Mqtt5Publish> callback, final @Nullable Executor executor) {
+
+        final MqttClientConfig clientConfig = delegate.getConfig();
+        final int partitions = clientConfig.getAdvancedConfig().getIncomingPublishDispatchPartitions();
+        if (partitions == 1) {
+            return new CallbackSubscriber(callback);
+        }
+        if (executor == null) {
+            final Scheduler applicationScheduler = clientConfig.getExecutorConfig().getApplicationScheduler();
+            return new MqttPartitionedCallbackSubscriber(callback, partitions, applicationScheduler::scheduleDirect);
+        }
+        return new MqttPartitionedCallbackSubscriber(callback, partitions, executor);
+    }
+
     private static class CallbackSubscriber implements FlowableSubscriber<Mqtt5Publish> {
 
         private final @NotNull Consumer<Mqtt5Publish> callback;
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber that passes incoming Publish messages in batches to a callback.
+ * <p>
+ * A batch is delivered either if the maximum batch size is reached or if the maximum delay elapsed since the first
+ * message of the batch was received. All messages that are queued when the batch is delivered are drained, so a batch
+ * usually contains all messages of a read cycle.
+ * <p>
+ * At most twice the maximum batch size is requested from upstream and new messages are only requested after a batch
+ * was consumed by the callback, so backpressure of the incoming publish flows is preserved.
+ *
+ * @author agent
+ */
+class MqttBatchCallbackSubscriber extends AtomicInteger implements FlowableSubscriber<Mqtt5Publish>, Runnable {
+
+    private final @NotNull Consumer<List<Mqtt5Publish>> callback;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Scheduler.@NotNull Worker worker;
+    private final @NotNull SpscUnboundedArrayQueue<Mqtt5Publish> queue = new SpscUnboundedArrayQueue<>(32);
+    private @Nullable Subscription subscription;
+    private volatile boolean delayScheduled;
+    private volatile boolean done;
+
+    MqttBatchCallbackSubscriber(
+            final @NotNull Consumer<List<Mqtt5Publish>> callback,
+            final int maxBatchSize,
+            final long maxDelayNanos,
+            final @NotNull Scheduler scheduler) {
+
+        this.callback = callback;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        worker = scheduler.createWorker();
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(2L * maxBatchSize);
+    }
+
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        queue.offer(publish);
+        if (queue.size() >= maxBatchSize) {
+            schedule();
+        } else if (!delayScheduled) {
+            delayScheduled = true;
+            worker.schedule(this::runDelayed, maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        done = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (getAndIncrement() == 0) {
+            worker.schedule(this);
+        }
+    }
+
+    private void runDelayed() {
+        delayScheduled = false;
+        if (getAndIncrement() == 0) {
+            run();
+        }
+    }
+
+    @Override
+    public void run() {
+        assert subscription != null;
+        int missed = 1;
+        while (true) {
+            while (true) {
+                Mqtt5Publish publish = queue.poll();
+                if (publish == null) {
+                    break;
+                }
+                final List<Mqtt5Publish> batch = new ArrayList<>(Math.min(queue.size() + 1, maxBatchSize));
+                do {
+                    batch.add(publish);
+                } while ((batch.size() < maxBatchSize) && ((publish = queue.poll()) != null));
+                try {
+                    callback.accept(batch);
+                } catch (final Throwable t) {
+                    Exceptions.throwIfFatal(t);
+                    RxJavaPlugins.onError(t);
+                }
+                subscription.request(batch.size());
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+        if (done) {
+            worker.dispose();
+        }
+    }
+}
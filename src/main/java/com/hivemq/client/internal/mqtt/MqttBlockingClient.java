@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
@@ -30,6 +31,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilde
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.AsyncRuntimeException;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
@@ -52,6 +54,7 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
@@ -172,6 +175,18 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public @NotNull List<@NotNull Mqtt5PublishResult> publishAll(
+            final @Nullable Iterable<? extends @Nullable Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+        try {
+            return delegate.publishAllUnsafe(mqttPublishes).blockingGet();
+        } catch (final RuntimeException e) {
+            throw AsyncRuntimeException.fillInStackTrace(e);
+        }
+    }
+
     @Override
     public void reauth() {
         try {
@@ -206,6 +221,11 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return delegate.getConfig();
     }
 
+    @Override
+    public @NotNull MqttTopicImpl topic(final @Nullable String topic) {
+        return delegate.topic(topic);
+    }
+
     @Override
     public @NotNull MqttRxClient toRx() {
         return delegate;
@@ -18,10 +18,12 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicRegistry;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.ioc.SingletonComponent;
 import com.hivemq.client.internal.mqtt.message.auth.MqttSimpleAuth;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
+import com.hivemq.client.internal.netty.NettyByteBufAllocatorUtil;
 import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.ExecutorUtil;
 import com.hivemq.client.internal.util.collections.ImmutableList;
@@ -36,6 +38,7 @@ import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConnectionConfig;
 import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
 import com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5SimpleAuth;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.EventLoop;
 import io.netty.handler.ssl.SslContext;
 import org.jetbrains.annotations.NotNull;
@@ -58,6 +61,9 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private final @NotNull ImmutableList<MqttClientConnectedListener> connectedListeners;
     private final @NotNull ImmutableList<MqttClientDisconnectedListener> disconnectedListeners;
 
+    private final @NotNull ByteBufAllocator allocator;
+    private final @NotNull MqttClientStatisticsImpl statistics;
+    private final @NotNull MqttTopicRegistry topicRegistry;
     private final @NotNull ClientComponent clientComponent;
 
     private volatile @Nullable EventLoop eventLoop;
@@ -90,6 +96,10 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.connectedListeners = connectedListeners;
         this.disconnectedListeners = disconnectedListeners;
 
+        allocator = NettyByteBufAllocatorUtil.create(executorConfig);
+        statistics = new MqttClientStatisticsImpl();
+        statistics.setAllocator(allocator);
+        topicRegistry = new MqttTopicRegistry();
         clientComponent = SingletonComponent.INSTANCE.clientComponentBuilder().clientConfig(this).build();
 
         state = new AtomicReference<>(MqttClientState.DISCONNECTED);
@@ -223,6 +233,19 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return state;
     }
 
+    public @NotNull ByteBufAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public @NotNull MqttClientStatisticsImpl getStatistics() {
+        return statistics;
+    }
+
+    public @NotNull MqttTopicRegistry getTopicRegistry() {
+        return topicRegistry;
+    }
+
     @Override
     public @NotNull Optional<Mqtt5ClientConnectionConfig> getConnectionConfig() {
         return Optional.ofNullable(connectionConfig);
@@ -32,21 +32,39 @@ import java.util.concurrent.Executor;
 public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
+    public static final int DEFAULT_NETTY_BUFFER_ARENAS = 0;
+    public static final int DEFAULT_NETTY_BUFFER_CHUNK_SIZE = 0;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER, true, true,
+                    DEFAULT_NETTY_BUFFER_ARENAS, DEFAULT_NETTY_BUFFER_CHUNK_SIZE, true);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
     private final @NotNull Scheduler applicationScheduler;
+    private final boolean nettyPooledBuffers;
+    private final boolean nettyDirectBuffers;
+    private final int nettyBufferArenas;
+    private final int nettyBufferChunkSize;
+    private final boolean nettyBufferThreadLocalCaches;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor,
             final int nettyThreads,
-            final @NotNull Scheduler applicationScheduler) {
+            final @NotNull Scheduler applicationScheduler,
+            final boolean nettyPooledBuffers,
+            final boolean nettyDirectBuffers,
+            final int nettyBufferArenas,
+            final int nettyBufferChunkSize,
+            final boolean nettyBufferThreadLocalCaches) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
         this.applicationScheduler = applicationScheduler;
+        this.nettyPooledBuffers = nettyPooledBuffers;
+        this.nettyDirectBuffers = nettyDirectBuffers;
+        this.nettyBufferArenas = nettyBufferArenas;
+        this.nettyBufferChunkSize = nettyBufferChunkSize;
+        this.nettyBufferThreadLocalCaches = nettyBufferThreadLocalCaches;
     }
 
     @Override
@@ -72,6 +90,41 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return applicationScheduler;
     }
 
+    @Override
+    public boolean isNettyPooledBuffers() {
+        return nettyPooledBuffers;
+    }
+
+    @Override
+    public boolean isNettyDirectBuffers() {
+        return nettyDirectBuffers;
+    }
+
+    @Override
+    public @NotNull OptionalInt getNettyBufferArenas() {
+        return (nettyBufferArenas == DEFAULT_NETTY_BUFFER_ARENAS) ? OptionalInt.empty() :
+                OptionalInt.of(nettyBufferArenas);
+    }
+
+    public int getRawNettyBufferArenas() {
+        return nettyBufferArenas;
+    }
+
+    @Override
+    public @NotNull OptionalInt getNettyBufferChunkSize() {
+        return (nettyBufferChunkSize == DEFAULT_NETTY_BUFFER_CHUNK_SIZE) ? OptionalInt.empty() :
+                OptionalInt.of(nettyBufferChunkSize);
+    }
+
+    public int getRawNettyBufferChunkSize() {
+        return nettyBufferChunkSize;
+    }
+
+    @Override
+    public boolean isNettyBufferThreadLocalCaches() {
+        return nettyBufferThreadLocalCaches;
+    }
+
     @Override
     public MqttClientExecutorConfigImplBuilder.@NotNull Default extend() {
         return new MqttClientExecutorConfigImplBuilder.Default(this);
@@ -88,7 +141,10 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
-                applicationScheduler.equals(that.applicationScheduler);
+                applicationScheduler.equals(that.applicationScheduler) &&
+                (nettyPooledBuffers == that.nettyPooledBuffers) && (nettyDirectBuffers == that.nettyDirectBuffers) &&
+                (nettyBufferArenas == that.nettyBufferArenas) && (nettyBufferChunkSize == that.nettyBufferChunkSize) &&
+                (nettyBufferThreadLocalCaches == that.nettyBufferThreadLocalCaches);
     }
 
     @Override
@@ -96,6 +152,11 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
         result = 31 * result + applicationScheduler.hashCode();
+        result = 31 * result + Boolean.hashCode(nettyPooledBuffers);
+        result = 31 * result + Boolean.hashCode(nettyDirectBuffers);
+        result = 31 * result + nettyBufferArenas;
+        result = 31 * result + nettyBufferChunkSize;
+        result = 31 * result + Boolean.hashCode(nettyBufferThreadLocalCaches);
         return result;
     }
 }
@@ -16,7 +16,9 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.netty.NettyByteBufAllocatorUtil;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttClientExecutorConfig;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
@@ -33,6 +35,11 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
+    private boolean nettyPooledBuffers = true;
+    private boolean nettyDirectBuffers = true;
+    private int nettyBufferArenas = MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_ARENAS;
+    private int nettyBufferChunkSize = MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_CHUNK_SIZE;
+    private boolean nettyBufferThreadLocalCaches = true;
 
     MqttClientExecutorConfigImplBuilder() {}
 
@@ -40,6 +47,11 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
         applicationScheduler = executorConfig.getApplicationScheduler();
+        nettyPooledBuffers = executorConfig.isNettyPooledBuffers();
+        nettyDirectBuffers = executorConfig.isNettyDirectBuffers();
+        nettyBufferArenas = executorConfig.getRawNettyBufferArenas();
+        nettyBufferChunkSize = executorConfig.getRawNettyBufferChunkSize();
+        nettyBufferThreadLocalCaches = executorConfig.isNettyBufferThreadLocalCaches();
     }
 
     abstract @NotNull B self();
@@ -63,8 +75,46 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B nettyPooledBuffers(final boolean nettyPooledBuffers) {
+        this.nettyPooledBuffers = nettyPooledBuffers;
+        return self();
+    }
+
+    public @NotNull B nettyDirectBuffers(final boolean nettyDirectBuffers) {
+        this.nettyDirectBuffers = nettyDirectBuffers;
+        return self();
+    }
+
+    public @NotNull B nettyBufferArenas(final int nettyBufferArenas) {
+        if (nettyBufferArenas <= 0) {
+            throw new IllegalArgumentException(
+                    "Number of Netty buffer arenas must be greater than 0. Found: " + nettyBufferArenas);
+        }
+        this.nettyBufferArenas = nettyBufferArenas;
+        return self();
+    }
+
+    public @NotNull B nettyBufferChunkSize(final int nettyBufferChunkSize) {
+        if ((nettyBufferChunkSize < MqttClientExecutorConfig.MIN_NETTY_BUFFER_CHUNK_SIZE) ||
+                (nettyBufferChunkSize > MqttClientExecutorConfig.MAX_NETTY_BUFFER_CHUNK_SIZE) ||
+                ((nettyBufferChunkSize & (nettyBufferChunkSize - 1)) != 0)) {
+            throw new IllegalArgumentException("Netty buffer chunk size must be a power of 2 between " +
+                    MqttClientExecutorConfig.MIN_NETTY_BUFFER_CHUNK_SIZE + " and " +
+                    MqttClientExecutorConfig.MAX_NETTY_BUFFER_CHUNK_SIZE + ". Found: " + nettyBufferChunkSize);
+        }
+        NettyByteBufAllocatorUtil.checkChunkSize(nettyBufferChunkSize);
+        this.nettyBufferChunkSize = nettyBufferChunkSize;
+        return self();
+    }
+
+    public @NotNull B nettyBufferThreadLocalCaches(final boolean nettyBufferThreadLocalCaches) {
+        this.nettyBufferThreadLocalCaches = nettyBufferThreadLocalCaches;
+        return self();
+    }
+
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler, nettyPooledBuffers,
+                nettyDirectBuffers, nettyBufferArenas, nettyBufferChunkSize, nettyBufferThreadLocalCaches);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientStatistics;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Every statistic has a single writer at a time, so volatile fields are sufficient.
+ *
+ * @author agent
+ */
+public class MqttClientStatisticsImpl implements MqttClientStatistics {
+
+    private volatile long publishFlowableMessages;
+    private volatile long publishFlowableQueueingDelayNanos;
+    private volatile long publishFlowableMaxQueueingDelayNanos;
+    private volatile long savedFlushes;
+    private volatile long resentMessages;
+    private volatile int pendingResends;
+    private volatile long resendYields;
+    private volatile long droppedQos0Messages;
+    private volatile long readPauses;
+    private volatile @NotNull IntSupplier pendingConfirmsSupplier = () -> 0;
+    private volatile @NotNull ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordPublishFlowableMessages(final long messages) {
+        publishFlowableMessages += messages;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordPublishFlowableQueueingDelay(final long delayNanos, final int sampleInterval) {
+        publishFlowableQueueingDelayNanos += delayNanos * sampleInterval;
+        if (delayNanos > publishFlowableMaxQueueingDelayNanos) {
+            publishFlowableMaxQueueingDelayNanos = delayNanos;
+        }
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordSavedFlushes(final int savedFlushes) {
+        this.savedFlushes += savedFlushes;
+    }
+
+    public void setPendingResends(final int pendingResends) {
+        this.pendingResends = pendingResends;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordResends(final int resent, final boolean yielded) {
+        resentMessages += resent;
+        pendingResends = Math.max(0, pendingResends - resent);
+        if (yielded) {
+            resendYields++;
+        }
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordDroppedQos0Message() {
+        droppedQos0Messages++;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void recordReadPause() {
+        readPauses++;
+    }
+
+    public void setPendingConfirmsSupplier(final @NotNull IntSupplier pendingConfirmsSupplier) {
+        this.pendingConfirmsSupplier = pendingConfirmsSupplier;
+    }
+
+    public void setAllocator(final @NotNull ByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public long getPublishFlowableMessages() {
+        return publishFlowableMessages;
+    }
+
+    @Override
+    public long getPublishFlowableQueueingDelayNanos() {
+        return publishFlowableQueueingDelayNanos;
+    }
+
+    @Override
+    public long getPublishFlowableMaxQueueingDelayNanos() {
+        return publishFlowableMaxQueueingDelayNanos;
+    }
+
+    @Override
+    public long getSavedFlushes() {
+        return savedFlushes;
+    }
+
+    @Override
+    public long getResentMessages() {
+        return resentMessages;
+    }
+
+    @Override
+    public int getPendingResends() {
+        return pendingResends;
+    }
+
+    @Override
+    public long getResendYields() {
+        return resendYields;
+    }
+
+    @Override
+    public long getDroppedQos0Messages() {
+        return droppedQos0Messages;
+    }
+
+    @Override
+    public long getReadPauses() {
+        return readPauses;
+    }
+
+    @Override
+    public int getPendingConfirms() {
+        return pendingConfirmsSupplier.getAsInt();
+    }
+
+    @Override
+    public long getBufferUsedDirectMemory() {
+        final ByteBufAllocator allocator = this.allocator;
+        if (allocator instanceof ByteBufAllocatorMetricProvider) {
+            return ((ByteBufAllocatorMetricProvider) allocator).metric().usedDirectMemory();
+        }
+        return 0;
+    }
+
+    @Override
+    public long getBufferUsedHeapMemory() {
+        final ByteBufAllocator allocator = this.allocator;
+        if (allocator instanceof ByteBufAllocatorMetricProvider) {
+            return ((ByteBufAllocatorMetricProvider) allocator).metric().usedHeapMemory();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getBufferDirectArenas() {
+        final ByteBufAllocator allocator = this.allocator;
+        if (allocator instanceof PooledByteBufAllocator) {
+            return ((PooledByteBufAllocator) allocator).metric().numDirectArenas();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getBufferHeapArenas() {
+        final ByteBufAllocator allocator = this.allocator;
+        if (allocator instanceof PooledByteBufAllocator) {
+            return ((PooledByteBufAllocator) allocator).metric().numHeapArenas();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getBufferThreadLocalCaches() {
+        final ByteBufAllocator allocator = this.allocator;
+        if (allocator instanceof PooledByteBufAllocator) {
+            return ((PooledByteBufAllocator) allocator).metric().numThreadLocalCaches();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber that dispatches incoming Publish messages to a callback in parallel.
+ * <p>
+ * Publish messages are partitioned by their topic, so messages with the same topic are still passed to the callback
+ * sequentially and in order. Each partition is drained by at most one task of the executor at a time.
+ * <p>
+ * Only a bounded amount of messages is requested from upstream and new messages are only requested after the callback
+ * consumed previous messages, so backpressure of the incoming publish flows is preserved.
+ *
+ * @author agent
+ */
+class MqttPartitionedCallbackSubscriber implements FlowableSubscriber<Mqtt5Publish> {
+
+    private static final int CONSUMED_BATCH = 32;
+
+    private final @NotNull Consumer<Mqtt5Publish> callback;
+    private final @NotNull Partition @NotNull [] partitions;
+    private final int prefetch;
+    private final int limit;
+    private final @NotNull AtomicInteger consumed = new AtomicInteger();
+    private @Nullable Subscription subscription;
+
+    MqttPartitionedCallbackSubscriber(
+            final @NotNull Consumer<Mqtt5Publish> callback, final int partitions, final @NotNull Executor executor) {
+
+        this.callback = callback;
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(executor);
+        }
+        prefetch = partitions * Flowable.bufferSize();
+        limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        partitions[Math.floorMod(publish.getTopic().hashCode(), partitions.length)].offer(publish);
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {}
+
+    private void consumed(final int n) {
+        final int consumed = this.consumed.addAndGet(n);
+        if ((consumed >= limit) && this.consumed.compareAndSet(consumed, 0)) {
+            assert subscription != null;
+            subscription.request(consumed);
+        }
+    }
+
+    private class Partition extends AtomicInteger implements Runnable {
+
+        private final @NotNull Executor executor;
+        private final @NotNull SpscUnboundedArrayQueue<Mqtt5Publish> queue = new SpscUnboundedArrayQueue<>(32);
+
+        Partition(final @NotNull Executor executor) {
+            this.executor = executor;
+        }
+
+        void offer(final @NotNull Mqtt5Publish publish) {
+            queue.offer(publish);
+            if (getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int consumed = 0;
+            while (true) {
+                Mqtt5Publish publish;
+                while ((publish = queue.poll()) != null) {
+                    try {
+                        callback.accept(publish);
+                    } catch (final Throwable t) {
+                        Exceptions.throwIfFatal(t);
+                        RxJavaPlugins.onError(t);
+                    }
+                    if (++consumed == CONSUMED_BATCH) {
+                        consumed(consumed);
+                        consumed = 0;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+            if (consumed > 0) {
+                consumed(consumed);
+            }
+        }
+    }
+}
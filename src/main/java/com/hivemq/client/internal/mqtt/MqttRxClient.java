@@ -16,11 +16,13 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttReAuthCompletable;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckBatch;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingleFlowable;
@@ -37,6 +39,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilder;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
@@ -58,6 +61,8 @@ import io.reactivex.internal.fuseable.ScalarCallable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
  * @author Silvio Giebl
  */
@@ -203,6 +208,17 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttAckSingle(clientConfig, publish);
     }
 
+    @NotNull Single<List<Mqtt5PublishResult>> publishAll(final @NotNull ImmutableList<MqttPublish> publishes) {
+        return publishAllUnsafe(publishes).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull Single<List<Mqtt5PublishResult>> publishAllUnsafe(final @NotNull ImmutableList<MqttPublish> publishes) {
+        if (publishes.isEmpty()) {
+            return Single.just(ImmutableList.of());
+        }
+        return new MqttAckBatch(clientConfig, publishes);
+    }
+
     @Override
     public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
@@ -229,7 +245,25 @@ public class MqttRxClient implements Mqtt5RxClient {
             return new MqttAckSingleFlowable(clientConfig, mqttPublish).observeOn(applicationScheduler, true);
         }
         return new MqttAckFlowable(
-                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(publishMapper)).observeOn(
+                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(publishMapper), false).observeOn(
+                applicationScheduler, true);
+    }
+
+    @Override
+    public @NotNull Flowable<Mqtt5PublishResult> publishFireAndForget(
+            final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
+
+        Checks.notNull(publishFlowable, "Publish flowable");
+
+        return publishFireAndForget(publishFlowable, PUBLISH_MAPPER);
+    }
+
+    public <P> @NotNull Flowable<Mqtt5PublishResult> publishFireAndForget(
+            final @NotNull Flowable<P> publishFlowable, final @NotNull Function<P, MqttPublish> publishMapper) {
+
+        final Scheduler applicationScheduler = clientConfig.getExecutorConfig().getApplicationScheduler();
+        return new MqttAckFlowable(
+                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(publishMapper), true).observeOn(
                 applicationScheduler, true);
     }
 
@@ -270,6 +304,11 @@ public class MqttRxClient implements Mqtt5RxClient {
         return clientConfig;
     }
 
+    @Override
+    public @NotNull MqttTopicImpl topic(final @Nullable String topic) {
+        return clientConfig.getTopicRegistry().get(topic);
+    }
+
     @Override
     public @NotNull MqttAsyncClient toAsync() {
         return new MqttAsyncClient(this);
@@ -18,30 +18,83 @@ package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowPolicy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Silvio Giebl
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, false, null, DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES, 1, 0,
+                    DEFAULT_INCOMING_PUBLISH_DISPATCH_PARTITIONS, 0, DEFAULT_INCOMING_QOS_0_OVERFLOW_POLICY, 0, 0,
+                    false, false, false, false, false, 0, 0);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
+    private final boolean qos2CompleteResult;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final int maxConcurrentPublishFlowables;
+    private final int flushConsolidationMaxPackets;
+    private final long flushConsolidationMaxDelayNanos;
+    private final int incomingPublishDispatchPartitions;
+    private final int incomingQos0BufferSize;
+    private final @NotNull Mqtt5IncomingQos0OverflowPolicy incomingQos0OverflowPolicy;
+    private final int incomingReadLowWatermark;
+    private final int incomingReadHighWatermark;
+    private final boolean zeroCopyIncomingPayloads;
+    private final boolean directBufferPayload;
+    private final boolean directBufferAuth;
+    private final boolean directBufferCorrelationData;
+    private final boolean lazyIncomingPublishProperties;
+    private final int incomingTopicCacheSize;
+    private final int writeAggregationBufferSize;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth,
             final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final boolean qos2CompleteResult,
+            final @Nullable MqttClientInterceptors interceptors,
+            final int maxConcurrentPublishFlowables,
+            final int flushConsolidationMaxPackets,
+            final long flushConsolidationMaxDelayNanos,
+            final int incomingPublishDispatchPartitions,
+            final int incomingQos0BufferSize,
+            final @NotNull Mqtt5IncomingQos0OverflowPolicy incomingQos0OverflowPolicy,
+            final int incomingReadLowWatermark,
+            final int incomingReadHighWatermark,
+            final boolean zeroCopyIncomingPayloads,
+            final boolean directBufferPayload,
+            final boolean directBufferAuth,
+            final boolean directBufferCorrelationData,
+            final boolean lazyIncomingPublishProperties,
+            final int incomingTopicCacheSize,
+            final int writeAggregationBufferSize) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
+        this.qos2CompleteResult = qos2CompleteResult;
         this.interceptors = interceptors;
+        this.maxConcurrentPublishFlowables = maxConcurrentPublishFlowables;
+        this.flushConsolidationMaxPackets = flushConsolidationMaxPackets;
+        this.flushConsolidationMaxDelayNanos = flushConsolidationMaxDelayNanos;
+        this.incomingPublishDispatchPartitions = incomingPublishDispatchPartitions;
+        this.incomingQos0BufferSize = incomingQos0BufferSize;
+        this.incomingQos0OverflowPolicy = incomingQos0OverflowPolicy;
+        this.incomingReadLowWatermark = incomingReadLowWatermark;
+        this.incomingReadHighWatermark = incomingReadHighWatermark;
+        this.zeroCopyIncomingPayloads = zeroCopyIncomingPayloads;
+        this.directBufferPayload = directBufferPayload;
+        this.directBufferAuth = directBufferAuth;
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        this.lazyIncomingPublishProperties = lazyIncomingPublishProperties;
+        this.incomingTopicCacheSize = incomingTopicCacheSize;
+        this.writeAggregationBufferSize = writeAggregationBufferSize;
     }
 
     @Override
@@ -54,11 +107,91 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return validatePayloadFormat;
     }
 
+    @Override
+    public boolean isQos2CompleteResult() {
+        return qos2CompleteResult;
+    }
+
     @Override
     public @Nullable MqttClientInterceptors getInterceptors() {
         return interceptors;
     }
 
+    @Override
+    public int getMaxConcurrentPublishFlowables() {
+        return maxConcurrentPublishFlowables;
+    }
+
+    @Override
+    public int getFlushConsolidationMaxPackets() {
+        return flushConsolidationMaxPackets;
+    }
+
+    @Override
+    public long getFlushConsolidationMaxDelay(final @NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(flushConsolidationMaxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getIncomingPublishDispatchPartitions() {
+        return incomingPublishDispatchPartitions;
+    }
+
+    @Override
+    public int getIncomingQos0BufferSize() {
+        return incomingQos0BufferSize;
+    }
+
+    @Override
+    public @NotNull Mqtt5IncomingQos0OverflowPolicy getIncomingQos0OverflowPolicy() {
+        return incomingQos0OverflowPolicy;
+    }
+
+    @Override
+    public int getIncomingReadLowWatermark() {
+        return incomingReadLowWatermark;
+    }
+
+    @Override
+    public int getIncomingReadHighWatermark() {
+        return incomingReadHighWatermark;
+    }
+
+    @Override
+    public boolean isZeroCopyIncomingPayloads() {
+        return zeroCopyIncomingPayloads;
+    }
+
+    @Override
+    public boolean isDirectBufferPayload() {
+        return directBufferPayload;
+    }
+
+    @Override
+    public boolean isDirectBufferAuth() {
+        return directBufferAuth;
+    }
+
+    @Override
+    public boolean isDirectBufferCorrelationData() {
+        return directBufferCorrelationData;
+    }
+
+    @Override
+    public boolean isLazyIncomingPublishProperties() {
+        return lazyIncomingPublishProperties;
+    }
+
+    @Override
+    public int getIncomingTopicCacheSize() {
+        return incomingTopicCacheSize;
+    }
+
+    @Override
+    public int getWriteAggregationBufferSize() {
+        return writeAggregationBufferSize;
+    }
+
     @Override
     public MqttClientAdvancedConfigBuilder.@NotNull Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,14 +208,45 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                (qos2CompleteResult == that.qos2CompleteResult) &&
+                Objects.equals(interceptors, that.interceptors) &&
+                (maxConcurrentPublishFlowables == that.maxConcurrentPublishFlowables) &&
+                (flushConsolidationMaxPackets == that.flushConsolidationMaxPackets) &&
+                (flushConsolidationMaxDelayNanos == that.flushConsolidationMaxDelayNanos) &&
+                (incomingPublishDispatchPartitions == that.incomingPublishDispatchPartitions) &&
+                (incomingQos0BufferSize == that.incomingQos0BufferSize) &&
+                (incomingQos0OverflowPolicy == that.incomingQos0OverflowPolicy) &&
+                (incomingReadLowWatermark == that.incomingReadLowWatermark) &&
+                (incomingReadHighWatermark == that.incomingReadHighWatermark) &&
+                (zeroCopyIncomingPayloads == that.zeroCopyIncomingPayloads) &&
+                (directBufferPayload == that.directBufferPayload) && (directBufferAuth == that.directBufferAuth) &&
+                (directBufferCorrelationData == that.directBufferCorrelationData) &&
+                (lazyIncomingPublishProperties == that.lazyIncomingPublishProperties) &&
+                (incomingTopicCacheSize == that.incomingTopicCacheSize) &&
+                (writeAggregationBufferSize == that.writeAggregationBufferSize);
     }
 
     @Override
     public int hashCode() {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
+        result = 31 * result + Boolean.hashCode(qos2CompleteResult);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + maxConcurrentPublishFlowables;
+        result = 31 * result + flushConsolidationMaxPackets;
+        result = 31 * result + Long.hashCode(flushConsolidationMaxDelayNanos);
+        result = 31 * result + incomingPublishDispatchPartitions;
+        result = 31 * result + incomingQos0BufferSize;
+        result = 31 * result + incomingQos0OverflowPolicy.hashCode();
+        result = 31 * result + incomingReadLowWatermark;
+        result = 31 * result + incomingReadHighWatermark;
+        result = 31 * result + Boolean.hashCode(zeroCopyIncomingPayloads);
+        result = 31 * result + Boolean.hashCode(directBufferPayload);
+        result = 31 * result + Boolean.hashCode(directBufferAuth);
+        result = 31 * result + Boolean.hashCode(directBufferCorrelationData);
+        result = 31 * result + Boolean.hashCode(lazyIncomingPublishProperties);
+        result = 31 * result + incomingTopicCacheSize;
+        result = 31 * result + writeAggregationBufferSize;
         return result;
     }
 }
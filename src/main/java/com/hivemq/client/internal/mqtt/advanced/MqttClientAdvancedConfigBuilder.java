@@ -19,11 +19,14 @@ package com.hivemq.client.internal.mqtt.advanced;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowPolicy;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -33,14 +36,48 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
 
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
+    private boolean qos2CompleteResult;
     private @Nullable MqttClientInterceptors interceptors;
+    private int maxConcurrentPublishFlowables = Mqtt5ClientAdvancedConfig.DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES;
+    private int flushConsolidationMaxPackets = 1;
+    private long flushConsolidationMaxDelayNanos;
+    private int incomingPublishDispatchPartitions =
+            Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_PUBLISH_DISPATCH_PARTITIONS;
+    private int incomingQos0BufferSize;
+    private @NotNull Mqtt5IncomingQos0OverflowPolicy incomingQos0OverflowPolicy =
+            Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_QOS_0_OVERFLOW_POLICY;
+    private int incomingReadLowWatermark;
+    private int incomingReadHighWatermark;
+    private boolean zeroCopyIncomingPayloads;
+    private boolean directBufferPayload;
+    private boolean directBufferAuth;
+    private boolean directBufferCorrelationData;
+    private boolean lazyIncomingPublishProperties;
+    private int incomingTopicCacheSize;
+    private int writeAggregationBufferSize;
 
     MqttClientAdvancedConfigBuilder() {}
 
     MqttClientAdvancedConfigBuilder(final @NotNull MqttClientAdvancedConfig advancedConfig) {
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
+        qos2CompleteResult = advancedConfig.isQos2CompleteResult();
         interceptors = advancedConfig.getInterceptors();
+        maxConcurrentPublishFlowables = advancedConfig.getMaxConcurrentPublishFlowables();
+        flushConsolidationMaxPackets = advancedConfig.getFlushConsolidationMaxPackets();
+        flushConsolidationMaxDelayNanos = advancedConfig.getFlushConsolidationMaxDelay(TimeUnit.NANOSECONDS);
+        incomingPublishDispatchPartitions = advancedConfig.getIncomingPublishDispatchPartitions();
+        incomingQos0BufferSize = advancedConfig.getIncomingQos0BufferSize();
+        incomingQos0OverflowPolicy = advancedConfig.getIncomingQos0OverflowPolicy();
+        incomingReadLowWatermark = advancedConfig.getIncomingReadLowWatermark();
+        incomingReadHighWatermark = advancedConfig.getIncomingReadHighWatermark();
+        zeroCopyIncomingPayloads = advancedConfig.isZeroCopyIncomingPayloads();
+        directBufferPayload = advancedConfig.isDirectBufferPayload();
+        directBufferAuth = advancedConfig.isDirectBufferAuth();
+        directBufferCorrelationData = advancedConfig.isDirectBufferCorrelationData();
+        lazyIncomingPublishProperties = advancedConfig.isLazyIncomingPublishProperties();
+        incomingTopicCacheSize = advancedConfig.getIncomingTopicCacheSize();
+        writeAggregationBufferSize = advancedConfig.getWriteAggregationBufferSize();
     }
 
     abstract @NotNull B self();
@@ -55,6 +92,11 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return self();
     }
 
+    public @NotNull B qos2CompleteResult(final boolean qos2CompleteResult) {
+        this.qos2CompleteResult = qos2CompleteResult;
+        return self();
+    }
+
     public @NotNull B interceptors(final @Nullable Mqtt5ClientInterceptors interceptors) {
         this.interceptors = Checks.notImplementedOrNull(interceptors, MqttClientInterceptors.class, "Interceptors");
         return self();
@@ -64,8 +106,125 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B maxConcurrentPublishFlowables(final int maxConcurrentPublishFlowables) {
+        if (maxConcurrentPublishFlowables <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum concurrent publish flowables must be greater than 0. Found: " +
+                            maxConcurrentPublishFlowables);
+        }
+        this.maxConcurrentPublishFlowables = maxConcurrentPublishFlowables;
+        return self();
+    }
+
+    public @NotNull B flushConsolidation(
+            final int maxPackets, final long maxDelay, final @Nullable TimeUnit timeUnit) {
+
+        if (maxPackets <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum packets of flush consolidation must be greater than 0. Found: " + maxPackets);
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum delay of flush consolidation must be positive or zero.");
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        flushConsolidationMaxPackets = maxPackets;
+        flushConsolidationMaxDelayNanos = timeUnit.toNanos(maxDelay);
+        return self();
+    }
+
+    public @NotNull B incomingPublishDispatchPartitions(final int incomingPublishDispatchPartitions) {
+        if (incomingPublishDispatchPartitions <= 0) {
+            throw new IllegalArgumentException("Incoming publish dispatch partitions must be greater than 0. Found: " +
+                    incomingPublishDispatchPartitions);
+        }
+        this.incomingPublishDispatchPartitions = incomingPublishDispatchPartitions;
+        return self();
+    }
+
+    public @NotNull B incomingQos0Buffer(
+            final int bufferSize, final @Nullable Mqtt5IncomingQos0OverflowPolicy overflowPolicy) {
+
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming QoS 0 buffer size must be positive or zero. Found: " + bufferSize);
+        }
+        incomingQos0BufferSize = bufferSize;
+        incomingQos0OverflowPolicy = Checks.notNull(overflowPolicy, "Overflow policy");
+        return self();
+    }
+
+    public @NotNull B incomingReadWatermarks(final int lowWatermark, final int highWatermark) {
+        if (highWatermark < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming read high watermark must be positive or zero. Found: " + highWatermark);
+        }
+        if (lowWatermark < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming read low watermark must be positive or zero. Found: " + lowWatermark);
+        }
+        if ((highWatermark > 0) && (lowWatermark >= highWatermark)) {
+            throw new IllegalArgumentException("Incoming read low watermark must be less than the high watermark. " +
+                    "Found: low " + lowWatermark + ", high " + highWatermark);
+        }
+        incomingReadLowWatermark = (highWatermark == 0) ? 0 : lowWatermark;
+        incomingReadHighWatermark = highWatermark;
+        return self();
+    }
+
+    public @NotNull B zeroCopyIncomingPayloads(final boolean zeroCopyIncomingPayloads) {
+        this.zeroCopyIncomingPayloads = zeroCopyIncomingPayloads;
+        return self();
+    }
+
+    public @NotNull B directBufferPayload(final boolean directBufferPayload) {
+        this.directBufferPayload = directBufferPayload;
+        return self();
+    }
+
+    public @NotNull B directBufferAuth(final boolean directBufferAuth) {
+        this.directBufferAuth = directBufferAuth;
+        return self();
+    }
+
+    public @NotNull B directBufferCorrelationData(final boolean directBufferCorrelationData) {
+        this.directBufferCorrelationData = directBufferCorrelationData;
+        return self();
+    }
+
+    public @NotNull B lazyIncomingPublishProperties(final boolean lazyIncomingPublishProperties) {
+        this.lazyIncomingPublishProperties = lazyIncomingPublishProperties;
+        return self();
+    }
+
+    public @NotNull B incomingTopicCacheSize(final int incomingTopicCacheSize) {
+        if (incomingTopicCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming topic cache size must be positive or zero. Found: " + incomingTopicCacheSize);
+        }
+        if (incomingTopicCacheSize > Mqtt5ClientAdvancedConfig.MAX_INCOMING_TOPIC_CACHE_SIZE) {
+            throw new IllegalArgumentException("Incoming topic cache size must not be greater than " +
+                    Mqtt5ClientAdvancedConfig.MAX_INCOMING_TOPIC_CACHE_SIZE + ". Found: " + incomingTopicCacheSize);
+        }
+        this.incomingTopicCacheSize = incomingTopicCacheSize;
+        return self();
+    }
+
+    public @NotNull B writeAggregationBufferSize(final int writeAggregationBufferSize) {
+        if (writeAggregationBufferSize < 0) {
+            throw new IllegalArgumentException(
+                    "Write aggregation buffer size must be positive or zero. Found: " + writeAggregationBufferSize);
+        }
+        this.writeAggregationBufferSize = writeAggregationBufferSize;
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, qos2CompleteResult, interceptors,
+                maxConcurrentPublishFlowables, flushConsolidationMaxPackets, flushConsolidationMaxDelayNanos,
+                incomingPublishDispatchPartitions, incomingQos0BufferSize, incomingQos0OverflowPolicy,
+                incomingReadLowWatermark, incomingReadHighWatermark, zeroCopyIncomingPayloads, directBufferPayload,
+                directBufferAuth, directBufferCorrelationData, lazyIncomingPublishProperties, incomingTopicCacheSize,
+                writeAggregationBufferSize);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
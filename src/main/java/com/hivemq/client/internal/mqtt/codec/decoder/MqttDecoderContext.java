@@ -32,6 +32,9 @@ public class MqttDecoderContext {
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private final boolean zeroCopyPayload;
+    private final boolean lazyPublishProperties;
+    private final @Nullable MqttTopicCache topicCache;
 
     MqttDecoderContext(
             final int maximumPacketSize,
@@ -41,7 +44,10 @@ public class MqttDecoderContext {
             final boolean validatePayloadFormat,
             final boolean directBufferPayload,
             final boolean directBufferAuth,
-            final boolean directBufferCorrelationData) {
+            final boolean directBufferCorrelationData,
+            final boolean zeroCopyPayload,
+            final boolean lazyPublishProperties,
+            final int topicCacheSize) {
 
         this.maximumPacketSize = maximumPacketSize;
         this.topicAliasMapping = (topicAliasMaximum == 0) ? null : new MqttTopicImpl[topicAliasMaximum];
@@ -51,6 +57,9 @@ public class MqttDecoderContext {
         this.directBufferPayload = directBufferPayload;
         this.directBufferAuth = directBufferAuth;
         this.directBufferCorrelationData = directBufferCorrelationData;
+        this.zeroCopyPayload = zeroCopyPayload;
+        this.lazyPublishProperties = lazyPublishProperties;
+        this.topicCache = (topicCacheSize == 0) ? null : new MqttTopicCache(topicCacheSize);
     }
 
     public int getMaximumPacketSize() {
@@ -84,4 +93,16 @@ public class MqttDecoderContext {
     public boolean useDirectBufferCorrelationData() {
         return directBufferCorrelationData;
     }
+
+    public boolean useZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
+
+    public boolean useLazyPublishProperties() {
+        return lazyPublishProperties;
+    }
+
+    public @Nullable MqttTopicCache getTopicCache() {
+        return topicCache;
+    }
 }
@@ -16,10 +16,12 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -54,6 +56,43 @@ public final class MqttMessageDecoderUtil {
         return new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed topic");
     }
 
+    /**
+     * Decodes the Topic Name of a Publish message, using the {@link MqttDecoderContext#getTopicCache() topic cache} if
+     * enabled.
+     *
+     * @param in      the byte buffer to decode from.
+     * @param context the decoder context.
+     * @return the decoded Topic Name or <code>null</code> if the Topic Name has zero length.
+     * @throws MqttDecoderException if the Topic Name is malformed.
+     */
+    public static @Nullable MqttTopicImpl decodePublishTopic(
+            final @NotNull ByteBuf in, final @NotNull MqttDecoderContext context) throws MqttDecoderException {
+
+        if (in.readableBytes() < 2) {
+            throw malformedTopic();
+        }
+        final int length = in.readUnsignedShort();
+        if (in.readableBytes() < length) {
+            throw malformedTopic();
+        }
+        if (length == 0) {
+            return null;
+        }
+        final MqttTopicCache topicCache = context.getTopicCache();
+        final MqttTopicImpl topic;
+        if (topicCache == null) {
+            final byte[] binary = new byte[length];
+            in.readBytes(binary);
+            topic = MqttTopicImpl.of(binary);
+        } else {
+            topic = topicCache.decode(in, length);
+        }
+        if (topic == null) {
+            throw malformedTopic();
+        }
+        return topic;
+    }
+
     public static @NotNull MqttQos decodePublishQos(final int flags, final boolean dup) throws MqttDecoderException {
         final MqttQos qos = MqttQos.fromCode((flags & 0b0110) >> 1);
         if (qos == null) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.Pow2Util;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of Topic Names of incoming Publish messages of a single connection.
+ * <p>
+ * Topic Names are looked up by the hash of their UTF-8 encoded bytes which are compared directly against the byte
+ * buffer, so a hit neither allocates nor validates the Topic Name again. The cache is direct-mapped: an entry is
+ * replaced if a different Topic Name maps to the same slot.
+ * <p>
+ * Not thread-safe, must only be used by the Netty event loop of the connection.
+ *
+ * @author agent
+ */
+public class MqttTopicCache {
+
+    private final int mask;
+    private final int @NotNull [] hashes;
+    private final byte @NotNull [] @Nullable [] binaries;
+    private final @Nullable MqttTopicImpl @NotNull [] topics;
+
+    public MqttTopicCache(final int size) {
+        final int capacity = 1 << Pow2Util.roundToPowerOf2Bits(size);
+        mask = capacity - 1;
+        hashes = new int[capacity];
+        binaries = new byte[capacity][];
+        topics = new MqttTopicImpl[capacity];
+    }
+
+    /**
+     * Decodes a Topic Name of the given length from the byte buffer at the current reader index.
+     * <p>
+     * The byte buffer must contain at least the given amount of readable bytes. The reader index is advanced by the
+     * given length.
+     *
+     * @param in     the byte buffer to decode from.
+     * @param length the length of the UTF-8 encoded Topic Name, must be greater than 0.
+     * @return the cached or created Topic Name or <code>null</code> if the bytes do not represent a valid Topic Name.
+     */
+    public @Nullable MqttTopicImpl decode(final @NotNull ByteBuf in, final int length) {
+        final int start = in.readerIndex();
+        int hash = 0;
+        for (int i = start, end = start + length; i < end; i++) {
+            hash = 31 * hash + in.getByte(i);
+        }
+        final int index = (hash ^ (hash >>> 16)) & mask;
+
+        final byte[] binary = binaries[index];
+        if ((binary != null) && (hashes[index] == hash) && equals(binary, in, start, length)) {
+            in.skipBytes(length);
+            return topics[index];
+        }
+
+        final byte[] newBinary = new byte[length];
+        in.readBytes(newBinary);
+        final MqttTopicImpl topic = MqttTopicImpl.of(newBinary);
+        if (topic != null) {
+            hashes[index] = hash;
+            binaries[index] = newBinary;
+            topics[index] = topic;
+        }
+        return topic;
+    }
+
+    private static boolean equals(
+            final byte @NotNull [] binary, final @NotNull ByteBuf in, final int start, final int length) {
+
+        if (binary.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (binary[i] != in.getByte(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
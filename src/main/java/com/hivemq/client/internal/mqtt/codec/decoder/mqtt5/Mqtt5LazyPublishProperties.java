@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttLazyPublishProperties;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty.*;
+
+/**
+ * Lazily decoded properties of an incoming MQTT 5 Publish message.
+ * <p>
+ * Refers to the raw properties which were already fully validated by the {@link Mqtt5PublishDecoder}, so malformed
+ * properties close the connection like in the eager path. The raw properties share their memory with the payload if
+ * there is one, so they are not copied separately.
+ *
+ * @author agent
+ */
+class Mqtt5LazyPublishProperties extends MqttLazyPublishProperties {
+
+    private final @NotNull ByteBuffer properties;
+    private final boolean directCorrelationData;
+
+    Mqtt5LazyPublishProperties(final @NotNull ByteBuffer properties, final boolean directCorrelationData) {
+        this.properties = properties;
+        this.directCorrelationData = directCorrelationData;
+    }
+
+    @Override
+    protected void decode() {
+        final ByteBuf in = Unpooled.wrappedBuffer(properties.duplicate());
+
+        MqttUtf8StringImpl contentType = null;
+        MqttTopicImpl responseTopic = null;
+        ByteBuffer correlationData = null;
+        ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder = null;
+
+        while (in.isReadable()) {
+            switch (MqttVariableByteInteger.decode(in)) {
+                case MESSAGE_EXPIRY_INTERVAL:
+                    in.skipBytes(4);
+                    break;
+
+                case PAYLOAD_FORMAT_INDICATOR:
+                    in.skipBytes(1);
+                    break;
+
+                case CONTENT_TYPE:
+                    contentType = checkValidated(MqttUtf8StringImpl.decode(in));
+                    break;
+
+                case RESPONSE_TOPIC:
+                    responseTopic = checkValidated(MqttTopicImpl.decode(in));
+                    break;
+
+                case CORRELATION_DATA:
+                    correlationData = checkValidated(MqttBinaryData.decode(in, directCorrelationData));
+                    break;
+
+                case USER_PROPERTY:
+                    final MqttUtf8StringImpl name = checkValidated(MqttUtf8StringImpl.decode(in));
+                    final MqttUtf8StringImpl value = checkValidated(MqttUtf8StringImpl.decode(in));
+                    if (userPropertiesBuilder == null) {
+                        userPropertiesBuilder = ImmutableList.builder();
+                    }
+                    userPropertiesBuilder.add(new MqttUserPropertyImpl(name, value));
+                    break;
+
+                case TOPIC_ALIAS:
+                    in.skipBytes(2);
+                    break;
+
+                case SUBSCRIPTION_IDENTIFIER:
+                    MqttVariableByteInteger.decode(in);
+                    break;
+
+                default:
+                    throw new IllegalStateException(
+                            "Property identifier was already validated. This must not happen and is a bug.");
+            }
+        }
+
+        set(contentType, responseTopic, correlationData, MqttUserPropertiesImpl.build(userPropertiesBuilder));
+    }
+
+    private static <T> @NotNull T checkValidated(final @Nullable T decoded) {
+        if (decoded == null) {
+            throw new IllegalStateException(
+                    "Property was already validated by the decoder. This must not happen and is a bug.");
+        }
+        return decoded;
+    }
+}
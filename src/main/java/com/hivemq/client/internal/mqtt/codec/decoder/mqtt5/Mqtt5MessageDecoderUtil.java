@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
@@ -181,6 +182,79 @@ final class Mqtt5MessageDecoderUtil {
         return decoded;
     }
 
+    static void skipBinaryData(final @NotNull String name, final @NotNull ByteBuf in) throws MqttDecoderException {
+        if (in.readableBytes() < 2) {
+            throw new MqttDecoderException("malformed binary data for " + name);
+        }
+        final int length = in.readUnsignedShort();
+        if (in.readableBytes() < length) {
+            throw new MqttDecoderException("malformed binary data for " + name);
+        }
+        in.skipBytes(length);
+    }
+
+    static boolean skipBinaryDataOnlyOnce(
+            final boolean present, final @NotNull String name, final @NotNull ByteBuf in) throws MqttDecoderException {
+
+        if (present) {
+            throw moreThanOnce(name);
+        }
+        skipBinaryData(name, in);
+        return true;
+    }
+
+    static boolean skipUTF8StringOnlyOnce(
+            final boolean present, final @NotNull String name, final @NotNull ByteBuf in) throws MqttDecoderException {
+
+        if (present) {
+            throw moreThanOnce(name);
+        }
+        if (!skipUTF8String(in)) {
+            throw malformedUTF8String(name);
+        }
+        return true;
+    }
+
+    static boolean skipTopicOnlyOnce(
+            final boolean present, final @NotNull String name, final @NotNull ByteBuf in) throws MqttDecoderException {
+
+        if (present) {
+            throw moreThanOnce(name);
+        }
+        if (in.readableBytes() >= 2) {
+            final int length = in.readUnsignedShort();
+            if ((in.readableBytes() >= length) && !MqttTopicImpl.isWellFormed(in, in.readerIndex(), length)) {
+                in.skipBytes(length);
+                return true;
+            }
+        }
+        throw new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed " + name);
+    }
+
+    static void skipUserProperty(final @NotNull ByteBuf in) throws MqttDecoderException {
+        if (!skipUTF8String(in) || !skipUTF8String(in)) {
+            throw new MqttDecoderException("malformed user property");
+        }
+    }
+
+    /**
+     * Skips a UTF-8 encoded string after checking it in place without copying it.
+     *
+     * @param in the byte buffer with the UTF-8 encoded string to skip.
+     * @return whether the UTF-8 encoded string was well-formed and skipped.
+     */
+    private static boolean skipUTF8String(final @NotNull ByteBuf in) {
+        if (in.readableBytes() < 2) {
+            return false;
+        }
+        final int length = in.readUnsignedShort();
+        if ((in.readableBytes() < length) || MqttUtf8StringImpl.isWellFormed(in, in.readerIndex(), length)) {
+            return false;
+        }
+        in.skipBytes(length);
+        return true;
+    }
+
     static @NotNull MqttUtf8StringImpl decodeUTF8StringOnlyOnce(
             final @Nullable MqttUtf8StringImpl current, final @NotNull String name, final @NotNull ByteBuf in)
             throws MqttDecoderException {
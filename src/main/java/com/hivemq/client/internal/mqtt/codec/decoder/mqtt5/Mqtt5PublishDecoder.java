@@ -20,6 +20,8 @@ import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoder;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttLazyPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPayloadBuffer;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.ByteBufferUtil;
@@ -66,17 +68,7 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final byte[] topicBinary = MqttBinaryData.decode(in);
-        if (topicBinary == null) {
-            throw malformedTopic();
-        }
-        MqttTopicImpl topic = null;
-        if (topicBinary.length != 0) {
-            topic = MqttTopicImpl.of(topicBinary);
-            if (topic == null) {
-                throw malformedTopic();
-            }
-        }
+        MqttTopicImpl topic = decodePublishTopic(in, context);
 
         final int packetIdentifier = decodePublishPacketIdentifier(qos, in);
 
@@ -91,6 +83,12 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
         int topicAlias = DEFAULT_NO_TOPIC_ALIAS;
         ImmutableIntList.Builder subscriptionIdentifiersBuilder = null;
 
+        final boolean lazy = context.useLazyPublishProperties();
+        boolean skippedContentType = false;
+        boolean skippedResponseTopic = false;
+        boolean skippedCorrelationData = false;
+        boolean skippedUserProperty = false;
+
         final int propertiesStartIndex = in.readerIndex();
         int readPropertyLength;
         while ((readPropertyLength = in.readerIndex() - propertiesStartIndex) < propertyLength) {
@@ -114,10 +112,18 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     break;
 
                 case CONTENT_TYPE:
+                    if (lazy) {
+                        skippedContentType = skipUTF8StringOnlyOnce(skippedContentType, "content type", in);
+                        break;
+                    }
                     contentType = decodeUTF8StringOnlyOnce(contentType, "content type", in);
                     break;
 
                 case RESPONSE_TOPIC:
+                    if (lazy) {
+                        skippedResponseTopic = skipTopicOnlyOnce(skippedResponseTopic, "response topic", in);
+                        break;
+                    }
                     if (responseTopic != null) {
                         throw moreThanOnce("response topic");
                     }
@@ -129,11 +135,21 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     break;
 
                 case CORRELATION_DATA:
+                    if (lazy) {
+                        skippedCorrelationData =
+                                skipBinaryDataOnlyOnce(skippedCorrelationData, "correlation data", in);
+                        break;
+                    }
                     correlationData = decodeBinaryDataOnlyOnce(correlationData, "correlation data", in,
                             context.useDirectBufferCorrelationData());
                     break;
 
                 case USER_PROPERTY:
+                    if (lazy) {
+                        skipUserProperty(in);
+                        skippedUserProperty = true;
+                        break;
+                    }
                     userPropertiesBuilder = decodeUserProperty(userPropertiesBuilder, in);
                     break;
 
@@ -190,15 +206,40 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     "topic alias must be present if topic name is zero length");
         }
 
+        final boolean lazyProperties =
+                skippedContentType || skippedResponseTopic || skippedCorrelationData || skippedUserProperty;
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf payloadBuf = null;
+        ByteBuffer properties = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
+            if (context.useZeroCopyPayload()) {
+                payloadBuf = in.readSlice(payloadLength);
+                payload = payloadBuf.nioBuffer();
+                if (lazyProperties) {
+                    // the retained payload buffer keeps the raw properties in front of the payload alive
+                    properties = in.nioBuffer(propertiesStartIndex, propertyLength);
+                }
+            } else if (lazyProperties) {
+                // the raw properties directly precede the payload, so both share one allocation and one copy
+                final ByteBuffer propertiesAndPayload =
+                        ByteBufferUtil.allocate(propertyLength + payloadLength, context.useDirectBufferPayload());
+                in.getBytes(propertiesStartIndex, propertiesAndPayload);
+                in.skipBytes(payloadLength);
+                propertiesAndPayload.position(0);
+                propertiesAndPayload.limit(propertyLength);
+                properties = propertiesAndPayload.slice();
+                propertiesAndPayload.limit(propertyLength + payloadLength);
+                propertiesAndPayload.position(propertyLength);
+                payload = propertiesAndPayload.slice();
+            } else {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
 
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
-                    (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                    (Utf8Util.isWellFormed(payload) != 0)) {
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
@@ -206,9 +247,23 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         final MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.build(userPropertiesBuilder);
 
-        final MqttPublish publish =
-                new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                        responseTopic, correlationData, userProperties, null);
+        // the buffer is only retained after the last check that can fail, so it can not leak
+        final MqttPayloadBuffer payloadBuffer =
+                (payloadBuf == null) ? null : new MqttPayloadBuffer(payloadBuf.retain());
+        final MqttPublish publish;
+        if (lazyProperties) {
+            if (properties == null) {
+                properties = ByteBuffer.allocate(propertyLength);
+                in.getBytes(propertiesStartIndex, properties);
+                properties.position(0);
+            }
+            publish = new MqttLazyPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                    new Mqtt5LazyPublishProperties(properties, context.useDirectBufferCorrelationData()), null,
+                    payloadBuffer);
+        } else {
+            publish = new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                    contentType, responseTopic, correlationData, userProperties, null, payloadBuffer);
+        }
 
         final ImmutableIntList subscriptionIdentifiers =
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
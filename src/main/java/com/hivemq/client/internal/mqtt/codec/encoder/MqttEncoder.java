@@ -16,20 +16,33 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main encoder for MQTT messages which delegates to the individual {@link MqttMessageEncoder}s.
+ * <p>
+ * Also consolidates flushes if configured in the {@link MqttClientAdvancedConfig advanced config}: flushes are delayed
+ * until either the maximum amount of packets were written or the maximum delay elapsed. Flush consolidation is only
+ * enabled after the connection is established, PINGREQ, DISCONNECT and AUTH packets are always flushed immediately.
+ * <p>
+ * Also aggregates writes if configured in the {@link MqttClientAdvancedConfig advanced config}: consecutive small
+ * packets are encoded into a shared buffer which is written as a whole before the next flush or before a packet that
+ * is written separately. The promises of the aggregated packets are completed when the shared buffer is written.
  *
  * @author Silvio Giebl
  */
@@ -39,19 +52,34 @@ public class MqttEncoder extends ChannelDuplexHandler {
     public static final @NotNull String NAME = "encoder";
 
     private final @NotNull MqttMessageEncoders encoders;
+    private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttEncoderContext context;
 
     private boolean inRead = false;
     private boolean pendingFlush = false;
 
+    private int flushConsolidationMaxPackets = 1;
+    private long flushConsolidationMaxDelayNanos;
+    private int unflushedPackets;
+    private int flushRequests;
+    private boolean urgentFlush;
+    private boolean flushScheduled;
+    private final @NotNull ArrayList<ChannelPromise> aggregatedPromises = new ArrayList<>();
+    private boolean aggregatedVoidPromise;
+
     @Inject
-    MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final @NotNull MqttClientConfig clientConfig) {
         this.encoders = encoders;
-        context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
+        this.clientConfig = clientConfig;
+        context = new MqttEncoderContext(clientConfig.getAllocator());
     }
 
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
         context.setMaximumPacketSize(connectionConfig.getSendMaximumPacketSize());
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        flushConsolidationMaxPackets = advancedConfig.getFlushConsolidationMaxPackets();
+        flushConsolidationMaxDelayNanos = advancedConfig.getFlushConsolidationMaxDelay(TimeUnit.NANOSECONDS);
+        context.setAggregationBufferSize(advancedConfig.getWriteAggregationBufferSize());
     }
 
     @Override
@@ -67,18 +95,108 @@ public class MqttEncoder extends ChannelDuplexHandler {
                 throw new UnsupportedOperationException();
             }
             final ByteBuf out = messageEncoder.castAndEncode(message, context);
-            ctx.write(out, promise);
+            if (out == context.getAggregationBuffer()) {
+                aggregatePromise(promise);
+            } else {
+                writeAggregated(ctx);
+                ctx.write(out, promise);
+            }
+            unflushedPackets++;
+            final Mqtt5MessageType type = message.getType();
+            if ((type == Mqtt5MessageType.PINGREQ) || (type == Mqtt5MessageType.DISCONNECT) ||
+                    (type == Mqtt5MessageType.AUTH)) {
+                urgentFlush = true;
+            }
         } else {
+            writeAggregated(ctx);
             ctx.write(msg, promise);
         }
     }
 
+    private void aggregatePromise(final @NotNull ChannelPromise promise) {
+        if (promise.isVoid()) {
+            // one void promise is enough to propagate a failure of the aggregated write
+            if (aggregatedVoidPromise) {
+                return;
+            }
+            aggregatedVoidPromise = true;
+        }
+        aggregatedPromises.add(promise);
+    }
+
+    private void writeAggregated(final @NotNull ChannelHandlerContext ctx) {
+        final ByteBuf aggregationBuffer = context.takeAggregationBuffer();
+        if (aggregationBuffer == null) {
+            return;
+        }
+        if (aggregatedPromises.size() == 1) {
+            ctx.write(aggregationBuffer, aggregatedPromises.get(0));
+        } else {
+            final ChannelPromise[] promises = aggregatedPromises.toArray(new ChannelPromise[0]);
+            ctx.write(aggregationBuffer).addListener(future -> {
+                final Throwable cause = future.cause();
+                for (final ChannelPromise promise : promises) {
+                    if (cause == null) {
+                        promise.trySuccess();
+                    } else {
+                        promise.tryFailure(cause);
+                    }
+                }
+            });
+        }
+        aggregatedPromises.clear();
+        aggregatedVoidPromise = false;
+    }
+
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
+        flushRequests++;
         if (inRead) {
             pendingFlush = true;
-        } else {
-            ctx.flush();
+        } else if ((flushConsolidationMaxPackets <= 1) || urgentFlush ||
+                (unflushedPackets >= flushConsolidationMaxPackets)) {
+            flushNow(ctx);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.executor().schedule(() -> {
+                flushScheduled = false;
+                if (flushRequests > 0) {
+                    flushNow(ctx);
+                }
+            }, flushConsolidationMaxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushNow(final @NotNull ChannelHandlerContext ctx) {
+        if (flushRequests > 1) {
+            clientConfig.getStatistics().recordSavedFlushes(flushRequests - 1);
+        }
+        flushRequests = 0;
+        unflushedPackets = 0;
+        urgentFlush = false;
+        writeAggregated(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        writeAggregated(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        final ByteBuf aggregationBuffer = context.takeAggregationBuffer();
+        if (aggregationBuffer != null) {
+            aggregationBuffer.release();
+            final ClosedChannelException cause = new ClosedChannelException();
+            for (final ChannelPromise promise : aggregatedPromises) {
+                if (!promise.isVoid()) {
+                    promise.tryFailure(cause);
+                }
+            }
+            aggregatedPromises.clear();
+            aggregatedVoidPromise = false;
         }
     }
 
@@ -94,7 +212,7 @@ public class MqttEncoder extends ChannelDuplexHandler {
         inRead = false;
         if (pendingFlush) {
             pendingFlush = false;
-            ctx.flush();
+            flushNow(ctx);
         }
     }
 
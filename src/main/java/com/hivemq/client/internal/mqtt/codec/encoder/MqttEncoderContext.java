@@ -17,8 +17,10 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -27,6 +29,8 @@ public class MqttEncoderContext {
 
     private final @NotNull ByteBufAllocator allocator;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
+    private int aggregationBufferSize;
+    private @Nullable ByteBuf aggregationBuffer;
 
     MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
         this.allocator = allocator;
@@ -36,6 +40,43 @@ public class MqttEncoderContext {
         return allocator;
     }
 
+    /**
+     * Allocates a byte buffer for a packet with the given encoded length.
+     * <p>
+     * If write aggregation is enabled and the packet fits, the shared aggregation buffer is returned which may already
+     * contain previously encoded packets. The packet must therefore only be appended to the returned byte buffer.
+     *
+     * @param encodedLength the encoded length of the packet.
+     * @return the byte buffer to encode the packet to.
+     */
+    public @NotNull ByteBuf allocate(final int encodedLength) {
+        if (aggregationBufferSize > 0) {
+            if (aggregationBuffer == null) {
+                if (encodedLength < aggregationBufferSize) {
+                    aggregationBuffer = allocator.ioBuffer(aggregationBufferSize, aggregationBufferSize);
+                    return aggregationBuffer;
+                }
+            } else if (aggregationBuffer.maxWritableBytes() >= encodedLength) {
+                return aggregationBuffer;
+            }
+        }
+        return allocator.ioBuffer(encodedLength, encodedLength);
+    }
+
+    @Nullable ByteBuf getAggregationBuffer() {
+        return aggregationBuffer;
+    }
+
+    @Nullable ByteBuf takeAggregationBuffer() {
+        final ByteBuf aggregationBuffer = this.aggregationBuffer;
+        this.aggregationBuffer = null;
+        return aggregationBuffer;
+    }
+
+    void setAggregationBufferSize(final int aggregationBufferSize) {
+        this.aggregationBufferSize = aggregationBufferSize;
+    }
+
     public int getMaximumPacketSize() {
         return maximumPacketSize;
     }
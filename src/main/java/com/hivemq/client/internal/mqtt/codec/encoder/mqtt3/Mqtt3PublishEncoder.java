@@ -17,6 +17,7 @@
 package com.hivemq.client.internal.mqtt.codec.encoder.mqtt3;
 
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoderContext;
+import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
@@ -76,7 +77,7 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
             encode(message, out, remainingLength);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocate(encodedLength);
         encode(message, out, remainingLength);
         return out;
     }
@@ -120,7 +121,7 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
         if ((payload != null) && !payload.isDirect()) {
-            out.writeBytes(payload.duplicate());
+            MqttBinaryData.encodeBytes(payload, out);
         }
     }
 }
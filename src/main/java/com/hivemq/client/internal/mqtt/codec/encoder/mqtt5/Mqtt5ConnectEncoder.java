@@ -90,7 +90,7 @@ public class Mqtt5ConnectEncoder extends MqttMessageEncoder<MqttStatefulConnect>
             final int willPropertyLength,
             final int omittedProperties) {
 
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocate(encodedLength);
         encode(message, out, remainingLength, propertyLength, willPropertyLength, omittedProperties);
         return out;
     }
@@ -118,7 +118,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             encode(message, out, remainingLength, propertyLength, omittedProperties);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocate(encodedLength);
         encode(message, out, remainingLength, propertyLength, omittedProperties);
         return out;
     }
@@ -208,7 +208,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
         if ((payload != null) && !payload.isDirect()) {
-            out.writeBytes(payload.duplicate());
+            MqttBinaryData.encodeBytes(payload, out);
         }
     }
 }
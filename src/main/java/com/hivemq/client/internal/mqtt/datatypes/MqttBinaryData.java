@@ -96,7 +96,25 @@ public final class MqttBinaryData {
      */
     public static void encode(final @NotNull ByteBuffer byteBuffer, final @NotNull ByteBuf byteBuf) {
         byteBuf.writeShort(byteBuffer.remaining());
-        byteBuf.writeBytes(byteBuffer.duplicate());
+        encodeBytes(byteBuffer, byteBuf);
+    }
+
+    /**
+     * Writes the remaining bytes of the given byte buffer to the given byte buffer at the current writer index without
+     * changing the position of the byte buffer.
+     * <p>
+     * Heap byte buffers are written directly from their backing array, so no duplicate has to be allocated.
+     *
+     * @param byteBuffer the byte buffer to write.
+     * @param byteBuf    the byte buffer to write to.
+     */
+    public static void encodeBytes(final @NotNull ByteBuffer byteBuffer, final @NotNull ByteBuf byteBuf) {
+        if (byteBuffer.hasArray()) {
+            byteBuf.writeBytes(
+                    byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+        } else {
+            byteBuf.writeBytes(byteBuffer.duplicate());
+        }
     }
 
     /**
@@ -25,6 +25,8 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author Silvio Giebl
  * @see MqttTopic
@@ -61,6 +63,25 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         return new MqttTopicImpl(string);
     }
 
+    /**
+     * Validates and creates a Topic Name of the given UTF-16 encoded Java string that is already encoded in UTF-8, so
+     * the Topic Name can be encoded any number of times without converting between the encodings.
+     * <p>
+     * Meant for Topic Names that are reused for many messages.
+     *
+     * @param string the UTF-16 encoded Java string.
+     * @param name   specific name used in error messages.
+     * @return the created Topic Name.
+     * @throws IllegalArgumentException if the given string is not a valid Topic Name.
+     */
+    @Contract("null, _ -> fail")
+    public static @NotNull MqttTopicImpl ofPreEncoded(final @Nullable String string, final @NotNull String name) {
+        Checks.notEmpty(string, name);
+        checkLength(string, name);
+        checkWellFormed(string, name);
+        return new MqttTopicImpl(string, string.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Validates and creates a Topic Name of the given byte array with UTF-8 encoded data.
      *
@@ -99,6 +120,22 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         return MqttUtf8StringImpl.isWellFormed(binary) || containsWildcardCharacters(binary);
     }
 
+    /**
+     * Checks the UTF-8 encoded data in the given region of the byte buffer in place like {@link #isWellFormed(byte[])}
+     * without copying it. In contrast to {@link #isWellFormed(byte[])} an empty region is not a well-formed Topic Name.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data.
+     * @param index   the index of the first byte of the region.
+     * @param length  the length of the region.
+     * @return whether the region represents a well-formed Topic Name.
+     * @see #isWellFormed(byte[])
+     */
+    public static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        return (length == 0) || MqttUtf8StringImpl.isWellFormed(byteBuf, index, length) ||
+                (byteBuf.forEachByte(index, length, b -> (b != MqttTopicFilterImpl.MULTI_LEVEL_WILDCARD) &&
+                        (b != MqttTopicFilterImpl.SINGLE_LEVEL_WILDCARD)) != -1);
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed Topic Name according to the MQTT specification.
      *
@@ -176,6 +213,10 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         super(string);
     }
 
+    private MqttTopicImpl(final @NotNull String string, final byte @NotNull [] binary) {
+        super(string, binary);
+    }
+
     @Override
     public @NotNull ImmutableList<String> getLevels() {
         return splitLevels(toString());
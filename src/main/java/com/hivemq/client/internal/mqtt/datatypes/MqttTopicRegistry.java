@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.datatypes;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of pre-encoded and pre-validated Topic Names of a client.
+ * <p>
+ * Registered Topic Names live as long as the client, so only Topic Names that are published to repeatedly should be
+ * registered.
+ *
+ * @author agent
+ */
+public class MqttTopicRegistry {
+
+    private final @NotNull ConcurrentHashMap<String, MqttTopicImpl> topics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registered Topic Name for the given string, registers it if it is not registered yet.
+     *
+     * @param topic the string of the Topic Name.
+     * @return the registered Topic Name.
+     * @throws IllegalArgumentException if the given string is not a valid Topic Name.
+     */
+    public @NotNull MqttTopicImpl get(final @Nullable String topic) {
+        if (topic != null) {
+            final MqttTopicImpl registered = topics.get(topic);
+            if (registered != null) {
+                return registered;
+            }
+        }
+        final MqttTopicImpl newTopic = MqttTopicImpl.ofPreEncoded(topic, "Topic");
+        final MqttTopicImpl registered = topics.putIfAbsent(newTopic.toString(), newTopic);
+        return (registered == null) ? newTopic : registered;
+    }
+}
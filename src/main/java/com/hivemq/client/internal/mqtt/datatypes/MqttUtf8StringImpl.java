@@ -149,6 +149,21 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return false;
     }
 
+    /**
+     * Checks the UTF-8 encoded data in the given region of the byte buffer in place like {@link #isWellFormed(byte[])}
+     * without copying it.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data.
+     * @param index   the index of the first byte of the region.
+     * @param length  the length of the region.
+     * @return whether the region represents a well-formed UTF-8 encoded string.
+     * @see #isWellFormed(byte[])
+     */
+    public static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        return (Utf8Util.isWellFormed(byteBuf.nioBuffer(index, length)) != 0) ||
+                (byteBuf.indexOf(index, index + length, (byte) 0) != -1);
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed UTF-8 encoded string according to the MQTT
      * specification, so
@@ -225,6 +240,18 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         this.string = string;
     }
 
+    /**
+     * Creates an UTF-8 encoded string that permanently holds both the UTF-16 and the UTF-8 encoded representation, so
+     * it never has to convert between them.
+     *
+     * @param string the UTF-16 encoded Java string.
+     * @param binary the UTF-8 encoded representation of the string.
+     */
+    MqttUtf8StringImpl(final @NotNull String string, final byte @NotNull [] binary) {
+        this.string = string;
+        this.binary = binary;
+    }
+
     @Override
     public boolean containsShouldNotCharacters() {
         final String string = toString();
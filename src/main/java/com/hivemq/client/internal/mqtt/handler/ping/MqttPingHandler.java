@@ -38,6 +38,9 @@ import java.util.concurrent.TimeUnit;
  * <li>Sends a PINGREQ message when no write has been performed for the Keep Alive interval.</li>
  * <li>Disconnects or closes the channel if the PINGRESP message is not received in the timeout.</li>
  * </ul>
+ * While reading from the channel is paused (auto read disabled because of backpressure on incoming Publish
+ * messages), the PINGRESP message can not be read, so no timeout is applied to it. PINGREQ messages are still sent so
+ * that the broker does not consider the connection dead.
  *
  * @author Silvio Giebl
  */
@@ -53,6 +56,7 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     private long lastReadTimeNanos;
     private boolean pingReqWritten;
     private boolean pingReqFlushed;
+    private boolean readPausedAtPingReq;
     private boolean messageRead;
     private @Nullable ScheduledFuture<?> timeoutFuture;
 
@@ -103,7 +107,7 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
                 MqttDisconnectUtil.close(ctx.channel(), "Timeout while writing PINGREQ");
                 return;
             }
-            if (!messageRead) {
+            if (!messageRead && !readPausedAtPingReq && ctx.channel().config().isAutoRead()) {
                 MqttDisconnectUtil.close(ctx.channel(), "Timeout while waiting for PINGRESP");
                 return;
             }
@@ -117,6 +121,8 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
             schedule(ctx, nextDelayNanos);
         } else {
             pingReqWritten = true;
+            // the PINGRESP may still be unread at the timeout if reading is resumed shortly before it
+            readPausedAtPingReq = !ctx.channel().config().isAutoRead();
             schedule(ctx, keepAliveNanos);
             lastFlushTimeNanos = timeNanos;
             ctx.writeAndFlush(MqttPingReq.INSTANCE).addListener(this);
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.checkpoint.Confirmable;
 import org.jetbrains.annotations.NotNull;
 
@@ -24,7 +25,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * @author Silvio Giebl
  */
-class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
+class MqttIncomingPublishConfirmable implements Confirmable {
 
     private final @NotNull MqttIncomingPublishFlow flow;
     private final @NotNull MqttStatefulPublishWithFlows publishWithFlows;
@@ -45,15 +46,24 @@ class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
     @Override
     public boolean confirm() {
         if (confirmed.compareAndSet(false, true)) {
-            flow.getEventLoop().execute(this);
+            flow.incomingPublishService.confirm(this);
             return true;
         }
         return false;
     }
 
-    @Override
-    public void run() {
-        publishWithFlows.acknowledge(flow);
+    @NotNull MqttIncomingPublishFlow getFlow() {
+        return flow;
+    }
+
+    /**
+     * Acknowledges the publish for the flow.
+     *
+     * @return whether the publish is acknowledged by all flows.
+     */
+    @CallByThread("Netty EventLoop")
+    boolean acknowledge() {
+        return publishWithFlows.acknowledge(flow);
     }
 
     static class Qos0 implements Confirmable {
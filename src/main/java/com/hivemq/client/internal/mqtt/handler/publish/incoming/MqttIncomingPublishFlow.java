@@ -148,6 +148,17 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         }
     }
 
+    /**
+     * Checks whether this flow can emit without acquiring new requests. In contrast to {@link #requested(long)} this
+     * does not change the blocking state.
+     *
+     * @return whether requests are left.
+     */
+    @CallByThread("Netty EventLoop")
+    boolean hasRequested() {
+        return requested > 0;
+    }
+
     @CallByThread("Netty EventLoop")
     long requested(final long runIndex) {
         if (requested <= 0) {
@@ -196,10 +207,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     }
 
     @CallByThread("Netty EventLoop")
-    void acknowledge(final boolean drain) {
-        if (drain) {
-            incomingPublishService.drain();
-        }
+    void acknowledge() {
         if (--missingAcknowledgements == 0) {
             checkDone();
         }
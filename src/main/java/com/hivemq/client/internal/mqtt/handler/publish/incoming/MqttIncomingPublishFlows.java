@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.NotThreadSafe;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
@@ -45,6 +46,8 @@ public class MqttIncomingPublishFlows {
 
     private final @NotNull MqttSubscribedPublishFlows subscribedFlows;
     private final @Nullable HandleList<MqttGlobalIncomingPublishFlow> @NotNull [] globalFlows;
+    private @Nullable MqttSubscribedPublishFlow singleFlow;
+    private @Nullable MqttTopicFilterImpl singleTopicFilter;
 
     @Inject
     MqttIncomingPublishFlows() {
@@ -63,6 +66,7 @@ public class MqttIncomingPublishFlows {
         for (int i = 0; i < subscriptions.size(); i++) {
             subscribedFlows.subscribe(subscriptions.get(i), subscriptionIdentifier, flow);
         }
+        updateSingleFlow();
     }
 
     public void subAck(
@@ -76,6 +80,7 @@ public class MqttIncomingPublishFlows {
             subscribedFlows.suback(subscriptions.get(i).getTopicFilter(), subscriptionIdentifier,
                     countNotMatching || reasonCodes.get(i).isError());
         }
+        updateSingleFlow();
     }
 
     public void unsubscribe(
@@ -89,10 +94,12 @@ public class MqttIncomingPublishFlows {
                 subscribedFlows.unsubscribe(topicFilters.get(i));
             }
         }
+        updateSingleFlow();
     }
 
     void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
         subscribedFlows.cancel(flow);
+        updateSingleFlow();
     }
 
     public void subscribeGlobal(final @NotNull MqttGlobalIncomingPublishFlow flow) {
@@ -103,6 +110,7 @@ public class MqttIncomingPublishFlows {
             globalFlows[filter] = globalFlowsForFilter;
         }
         flow.setHandle(globalFlowsForFilter.add(flow));
+        updateSingleFlow();
     }
 
     void cancelGlobal(final @NotNull MqttGlobalIncomingPublishFlow flow) {
@@ -115,6 +123,45 @@ public class MqttIncomingPublishFlows {
                 globalFlows[filter] = null;
             }
         }
+        updateSingleFlow();
+    }
+
+    /**
+     * Detects the common case of exactly one subscription with a flow and no global flows. Then matching an incoming
+     * Publish message only requires to match its topic against a single topic filter.
+     */
+    private void updateSingleFlow() {
+        singleFlow = null;
+        singleTopicFilter = null;
+        for (final HandleList<MqttGlobalIncomingPublishFlow> globalFlowsForFilter : globalFlows) {
+            if (globalFlowsForFilter != null) {
+                return;
+            }
+        }
+        final MqttSubscribedPublishFlow flow = subscribedFlows.getSingleFlow();
+        if (flow != null) {
+            final Handle<MqttTopicFilterImpl> handle = flow.getTopicFilters().getFirst();
+            if ((handle != null) && (handle.getNext() == null)) {
+                singleFlow = flow;
+                singleTopicFilter = handle.getElement();
+            }
+        }
+    }
+
+    /**
+     * Returns the only flow that matches the given Publish message if there is exactly one subscription with a flow
+     * and no global flows.
+     *
+     * @param publish the incoming Publish message.
+     * @return the only matching flow or <code>null</code> if the matching flows have to be found via {@link
+     *         #findMatching(MqttStatefulPublishWithFlows)}.
+     */
+    @Nullable MqttSubscribedPublishFlow findSingleMatching(final @NotNull MqttPublish publish) {
+        final MqttSubscribedPublishFlow singleFlow = this.singleFlow;
+        if ((singleFlow != null) && (singleTopicFilter != null) && singleTopicFilter.matches(publish.getTopic())) {
+            return singleFlow;
+        }
+        return null;
     }
 
     void findMatching(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
@@ -152,6 +199,7 @@ public class MqttIncomingPublishFlows {
             }
             globalFlows[i] = null;
         }
+        updateSingleFlow();
     }
 
     public @NotNull Map<@NotNull Integer, @NotNull List<@NotNull MqttSubscription>> getSubscriptions() {
@@ -20,13 +20,22 @@ import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.checkpoint.Confirmable;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowPolicy;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author Silvio Giebl
  */
@@ -35,17 +44,30 @@ class MqttIncomingPublishService {
 
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttIncomingPublishService.class);
-    private static final boolean QOS_0_DROP_OLDEST = true; // TODO configurable
+    private static final long QOS_0_DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
 
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
+    private final @NotNull Mqtt5IncomingQos0OverflowPolicy qos0OverflowPolicy;
+    private final int readLowWatermark;
+    private final int readHighWatermark;
+    private final @NotNull MqttClientStatisticsImpl statistics;
 
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos0Queue = new ChunkedArrayQueue<>(32);
     private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos0It = qos0Queue.iterator();
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos1Or2Queue = new ChunkedArrayQueue<>(32);
     private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos1Or2It = qos1Or2Queue.iterator();
 
+    private final @NotNull MpscUnboundedArrayQueue<MqttIncomingPublishConfirmable> confirmQueue =
+            new MpscUnboundedArrayQueue<>(64);
+    private final @NotNull AtomicInteger confirmCounter = new AtomicInteger();
+    private final @NotNull Runnable confirmTask = this::runConfirms;
+
     private long nextQoS1Or2PublishId = 1;
+    private long qos0DroppedSinceLog;
+    private long qos0DropLogNanos = System.nanoTime() - QOS_0_DROP_LOG_INTERVAL_NANOS;
+    private int qos0BufferSize;
+    private boolean readingPaused;
 
     private int referencedFlowCount;
     private int runIndex;
@@ -53,32 +75,100 @@ class MqttIncomingPublishService {
 
     MqttIncomingPublishService(
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+            final @NotNull MqttIncomingPublishFlows incomingPublishFlows,
+            final @NotNull MqttClientConfig clientConfig) {
 
         this.incomingQosHandler = incomingQosHandler;
         this.incomingPublishFlows = incomingPublishFlows;
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        qos0OverflowPolicy = advancedConfig.getIncomingQos0OverflowPolicy();
+        readLowWatermark = advancedConfig.getIncomingReadLowWatermark();
+        readHighWatermark = advancedConfig.getIncomingReadHighWatermark();
+        statistics = clientConfig.getStatistics();
     }
 
     @CallByThread("Netty EventLoop")
-    void onPublishQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final int receiveMaximum) {
-        if (qos0Queue.size() >= receiveMaximum) { // TODO receiveMaximum
-            LOGGER.warn("QoS 0 publish message dropped.");
-            if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                final MqttStatefulPublishWithFlows flows = qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
+    void onPublishQos0(final @NotNull MqttStatefulPublish publish) {
+        if (emitSingle(publish.stateless())) {
+            return;
+        }
+        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(publish);
+        if (qos0Queue.size() >= qos0BufferSize) {
+            switch (qos0OverflowPolicy) {
+                case DROP_OLDEST: {
+                    qos0It.reset();
+                    final MqttStatefulPublishWithFlows flows = qos0It.next();
+                    qos0It.remove();
+                    for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
+                        if (h.getElement().dereference() == 0) {
+                            referencedFlowCount--;
+                        }
                     }
+                    flows.publish.stateless().releasePayload();
+                    onQos0Dropped();
+                    break;
                 }
-            } else {
-                return;
+                case DROP_NEWEST:
+                    publish.stateless().releasePayload();
+                    onQos0Dropped();
+                    return;
+                case PAUSE_READING: // messages that were already read are still buffered
+                    break;
             }
         }
         onPublish(publishWithFlows);
         if (!publishWithFlows.isEmpty()) {
             qos0Queue.offer(publishWithFlows);
+            pauseReadingIfNecessary();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onQos0Dropped() {
+        statistics.recordDroppedQos0Message();
+        qos0DroppedSinceLog++;
+        final long nanos = System.nanoTime();
+        if (nanos - qos0DropLogNanos >= QOS_0_DROP_LOG_INTERVAL_NANOS) {
+            LOGGER.warn("{} QoS 0 publish message(s) dropped because they were not consumed fast enough.",
+                    qos0DroppedSinceLog);
+            qos0DroppedSinceLog = 0;
+            qos0DropLogNanos = nanos;
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onConnected(final int qos0BufferSize) {
+        this.qos0BufferSize = qos0BufferSize;
+        readingPaused = false; // auto read is enabled for a new connection
+    }
+
+    /**
+     * Pauses reading from the connection if the QoS 0 buffer is full and the overflow policy is {@link
+     * Mqtt5IncomingQos0OverflowPolicy#PAUSE_READING} or if the amount of buffered messages reached the high watermark.
+     * Then the broker is backpressured via TCP flow control.
+     */
+    @CallByThread("Netty EventLoop")
+    private void pauseReadingIfNecessary() {
+        if (!readingPaused && (((qos0OverflowPolicy == Mqtt5IncomingQos0OverflowPolicy.PAUSE_READING) &&
+                (qos0Queue.size() >= qos0BufferSize)) ||
+                ((readHighWatermark > 0) && (qos0Queue.size() + qos1Or2Queue.size() >= readHighWatermark)))) {
+            readingPaused = true;
+            statistics.recordReadPause();
+            incomingQosHandler.setAutoRead(false);
+        }
+    }
+
+    /**
+     * Resumes reading from the connection if all conditions that paused reading are relieved: the QoS 0 buffer is at
+     * most half full and the amount of buffered messages fell to the low watermark.
+     */
+    @CallByThread("Netty EventLoop")
+    private void resumeReadingIfPossible() {
+        if (readingPaused && ((qos0OverflowPolicy != Mqtt5IncomingQos0OverflowPolicy.PAUSE_READING) ||
+                (qos0Queue.size() <= (qos0BufferSize >> 1))) &&
+                ((readHighWatermark == 0) || (qos0Queue.size() + qos1Or2Queue.size() <= readLowWatermark))) {
+            readingPaused = false;
+            incomingQosHandler.setAutoRead(true);
         }
     }
 
@@ -88,15 +178,50 @@ class MqttIncomingPublishService {
             return false; // flow control error
         }
         publishWithFlows.id = nextQoS1Or2PublishId++;
-        onPublish(publishWithFlows);
+        if (!emitSingle(publishWithFlows.publish.stateless())) {
+            onPublish(publishWithFlows);
+        }
         if (qos1Or2Queue.isEmpty() && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
             incomingQosHandler.ack(publishWithFlows);
         } else {
             qos1Or2Queue.offer(publishWithFlows);
+            pauseReadingIfNecessary();
         }
         return true;
     }
 
+    /**
+     * Fast path for the common case of a single subscription: emits the Publish message directly if it matches the
+     * only flow, no buffered messages are waiting for the flow and the flow has requests left. This avoids building a
+     * list of matching flows and reference counting.
+     * <p>
+     * QoS 1 and 2 Publish messages can only be emitted via the fast path if they do not have to be acknowledged
+     * manually, as manual acknowledgement needs to track the flows.
+     *
+     * @param publish the incoming Publish message.
+     * @return whether the Publish message was emitted.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean emitSingle(final @NotNull MqttPublish publish) {
+        if (referencedFlowCount != 0) {
+            return false;
+        }
+        final MqttSubscribedPublishFlow flow = incomingPublishFlows.findSingleMatching(publish);
+        if ((flow == null) || flow.isCancelled() || !flow.hasRequested()) {
+            return false;
+        }
+        if (flow.manualAcknowledgement) {
+            if (publish.getQos() != MqttQos.AT_MOST_ONCE) {
+                return false;
+            }
+            flow.onNext(publish.forSubscriber(new MqttIncomingPublishConfirmable.Qos0()));
+        } else {
+            flow.onNext(publish.forSubscriber(null));
+        }
+        publish.releasePayload();
+        return true;
+    }
+
     @CallByThread("Netty EventLoop")
     private void onPublish(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
         incomingPublishFlows.findMatching(publishWithFlows);
@@ -112,8 +237,54 @@ class MqttIncomingPublishService {
         emit(publishWithFlows);
     }
 
+    /**
+     * Enqueues a confirmed publish, can be called from any thread.
+     * <p>
+     * Confirmations are processed in bulk by a single event loop task instead of one task per confirmation.
+     *
+     * @param confirmable the confirmed publish.
+     */
+    void confirm(final @NotNull MqttIncomingPublishConfirmable confirmable) {
+        confirmQueue.offer(confirmable);
+        if (confirmCounter.getAndIncrement() == 0) {
+            confirmable.getFlow().getEventLoop().execute(confirmTask);
+        }
+    }
+
+    int getPendingConfirms() {
+        return confirmCounter.get();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void runConfirms() {
+        // only process the confirmations enqueued until now so concurrent confirmations can not starve the event loop
+        final int confirms = confirmCounter.get();
+        MqttIncomingPublishConfirmable confirmable = null;
+        boolean drain = false;
+        for (int i = 0; i < confirms; i++) {
+            confirmable = confirmQueue.poll();
+            assert confirmable != null; // counter is incremented after offer
+            if (confirmable.acknowledge()) {
+                drain = true;
+            }
+        }
+        if (drain) {
+            drain();
+        }
+        if (confirmCounter.addAndGet(-confirms) > 0) {
+            assert confirmable != null;
+            confirmable.getFlow().getEventLoop().execute(confirmTask);
+        }
+    }
+
     @CallByThread("Netty EventLoop")
     void drain() {
+        drainQueues();
+        resumeReadingIfPossible();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void drainQueues() {
         runIndex++;
         blockingFlowCount = 0;
 
@@ -153,17 +324,16 @@ class MqttIncomingPublishService {
             } else {
                 final long requested = flow.requested(runIndex);
                 if (requested > 0) {
-                    MqttPublish publish = publishWithFlows.publish.stateless();
-                    if (flow.manualAcknowledgement) {
-                        final Confirmable confirmable;
-                        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
-                            confirmable = new MqttIncomingPublishConfirmable.Qos0();
-                        } else {
-                            confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
-                        }
-                        publish = publish.withConfirmable(confirmable);
+                    final MqttPublish publish = publishWithFlows.publish.stateless();
+                    final Confirmable confirmable;
+                    if (!flow.manualAcknowledgement) {
+                        confirmable = null;
+                    } else if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+                        confirmable = new MqttIncomingPublishConfirmable.Qos0();
+                    } else {
+                        confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
                     }
-                    flow.onNext(publish);
+                    flow.onNext(publish.forSubscriber(confirmable));
                     publishWithFlows.remove(h);
                     if (flow.dereference() == 0) {
                         referencedFlowCount--;
@@ -177,5 +347,8 @@ class MqttIncomingPublishService {
                 }
             }
         }
+        if (publishWithFlows.isEmpty()) { // every flow holds its own reference to the payload
+            publishWithFlows.publish.stateless().releasePayload();
+        }
     }
 }
@@ -22,6 +22,7 @@ import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
@@ -64,7 +65,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     });
 
     private final @NotNull MqttClientConfig clientConfig;
+    private final @Nullable Mqtt5IncomingQos1Interceptor qos1Interceptor;
+    private final @Nullable Mqtt5IncomingQos2Interceptor qos2Interceptor;
     final @NotNull MqttIncomingPublishService incomingPublishService;
+    private final @NotNull Runnable flushAcksTask = this::flushAcks;
 
     // valid for session
     private final @NotNull IntIndex<Object> messages = new IntIndex<>(INDEX_SPEC);
@@ -73,6 +77,9 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     // valid for connection
     private int receiveMaximum;
     private long connectionIndex;
+    private boolean inRead;
+    private int unflushedAcks;
+    private int unflushedAcksOutsideRead;
 
     @Inject
     MqttIncomingQosHandler(
@@ -80,7 +87,16 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
 
         this.clientConfig = clientConfig;
-        incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows);
+        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
+        if (interceptors == null) {
+            qos1Interceptor = null;
+            qos2Interceptor = null;
+        } else {
+            qos1Interceptor = interceptors.getIncomingQos1Interceptor();
+            qos2Interceptor = interceptors.getIncomingQos2Interceptor();
+        }
+        incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows, clientConfig);
+        clientConfig.getStatistics().setPendingConfirmsSupplier(incomingPublishService::getPendingConfirms);
     }
 
     @Override
@@ -88,12 +104,19 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         receiveMaximum = connectionConfig.getReceiveMaximum();
+        final int configuredQos0BufferSize = clientConfig.getAdvancedConfig().getIncomingQos0BufferSize();
+        final int qos0BufferSize = (configuredQos0BufferSize == 0) ? receiveMaximum : configuredQos0BufferSize;
+        incomingPublishService.onConnected(qos0BufferSize);
         connectionIndex++;
+        inRead = false; // the previous channel may have been closed while reading
+        unflushedAcks = 0;
+        unflushedAcksOutsideRead = 0;
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        inRead = true;
         if (msg instanceof MqttStatefulPublish) {
             readPublish(ctx, (MqttStatefulPublish) msg);
         } else if (msg instanceof MqttPubRel) {
@@ -103,6 +126,13 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         }
     }
 
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        inRead = false;
+        flushAcks(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
     private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
@@ -118,7 +148,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     }
 
     private void readPublishQos0(final @NotNull MqttStatefulPublish publish) {
-        incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish), receiveMaximum);
+        incomingPublishService.onPublishQos0(publish);
     }
 
     private void readPublishQos1(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
@@ -159,6 +189,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "QoS 1 PUBLISH must not carry the same packet identifier as a QoS 2 PUBLISH");
         }
+        releaseIfDiscarded(publishWithFlows);
     }
 
     private void readPublishQos2(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
@@ -203,6 +234,19 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 writePubRec(ctx, (MqttPubRec) prevMessage);
             }
         }
+        releaseIfDiscarded(publishWithFlows);
+    }
+
+    /**
+     * Releases the payload of a Publish message that was not passed to the {@link MqttIncomingPublishService}, for
+     * example a resent message. Only the publish service sets the id of a message.
+     *
+     * @param publishWithFlows the Publish message.
+     */
+    private static void releaseIfDiscarded(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (publishWithFlows.id == 0) {
+            publishWithFlows.publish.stateless().releasePayload();
+        }
     }
 
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
@@ -235,7 +279,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     void ack(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
         switch (publishWithFlows.publish.stateless().getQos()) {
             case AT_LEAST_ONCE: {
-                final MqttPubAck pubAck = buildPubAck(new MqttPubAckBuilder(publishWithFlows.publish));
+                final MqttPubAck pubAck = buildPubAck(publishWithFlows.publish);
                 final Object prevMessage = messages.remove(pubAck.getPacketIdentifier());
                 if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
                     writePubAck(ctx, pubAck);
@@ -243,7 +287,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 break;
             }
             case EXACTLY_ONCE: {
-                final MqttPubRec pubRec = buildPubRec(new MqttPubRecBuilder(publishWithFlows.publish));
+                final MqttPubRec pubRec = buildPubRec(publishWithFlows.publish);
                 final Object prevMessage = !pubRec.getReasonCode().isError() ? messages.put(pubRec) :
                         messages.remove(pubRec.getPacketIdentifier());
                 if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
@@ -271,17 +315,70 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     }
 
     private void writePubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
-        ctx.writeAndFlush(pubAck, ctx.voidPromise());
+        writeAck(ctx, pubAck);
     }
 
     private void writePubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
-        ctx.writeAndFlush(pubRec, ctx.voidPromise());
+        writeAck(ctx, pubRec);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void setAutoRead(final boolean autoRead) {
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx != null) {
+            ctx.channel().config().setAutoRead(autoRead);
+        }
+    }
+
+    /**
+     * Writes an acknowledgement without flushing it immediately.
+     * <p>
+     * Acknowledgements written while reading are flushed once in {@link #channelReadComplete(ChannelHandlerContext)}.
+     * Other acknowledgements (for example of manually acknowledged or backpressured messages) are flushed once by a
+     * task that is executed after all currently pending tasks of the event loop, so an acknowledgement burst is also
+     * flushed only once.
+     *
+     * @param ctx the channel handler context.
+     * @param ack the acknowledgement message.
+     */
+    private void writeAck(final @NotNull ChannelHandlerContext ctx, final @NotNull Object ack) {
+        ctx.write(ack, ctx.voidPromise());
+        if (!inRead) {
+            unflushedAcksOutsideRead++;
+            if (unflushedAcks == 0) {
+                ctx.channel().eventLoop().execute(flushAcksTask);
+            }
+        }
+        unflushedAcks++;
+    }
+
+    private void flushAcks() {
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx != null) {
+            flushAcks(ctx);
+        }
+    }
+
+    private void flushAcks(final @NotNull ChannelHandlerContext ctx) {
+        final int unflushedAcks = this.unflushedAcks;
+        if (unflushedAcks > 0) {
+            final int unflushedAcksOutsideRead = this.unflushedAcksOutsideRead;
+            this.unflushedAcks = 0;
+            this.unflushedAcksOutsideRead = 0;
+            // flushes of acknowledgements written while reading would have been merged by the encoder anyway
+            final int savedFlushes = (unflushedAcksOutsideRead == unflushedAcks) ? unflushedAcksOutsideRead - 1 :
+                    unflushedAcksOutsideRead;
+            if (savedFlushes > 0) {
+                clientConfig.getStatistics().recordSavedFlushes(savedFlushes);
+            }
+            ctx.flush();
+        }
     }
 
     private void readPubRel(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRel pubRel) {
         final Object prevMessage = messages.remove(pubRel.getPacketIdentifier());
         if (prevMessage instanceof MqttPubRec) { // normal case
-            writePubComp(ctx, buildPubComp(new MqttPubCompBuilder(pubRel)));
+            writePubComp(ctx, buildPubComp(pubRel));
         } else if (prevMessage == null) { // may be resent
             writePubComp(
                     ctx, buildPubComp(new MqttPubCompBuilder(pubRel).reasonCode(
@@ -305,7 +402,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     }
 
     private void writePubComp(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubComp pubComp) {
-        ctx.writeAndFlush(pubComp, ctx.voidPromise());
+        writeAck(ctx, pubComp);
     }
 
     @Override
@@ -314,35 +411,40 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         messages.clear();
     }
 
-    private @NotNull MqttPubAck buildPubAck(final @NotNull MqttPubAckBuilder pubAckBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos1Interceptor interceptor = interceptors.getIncomingQos1Interceptor();
-            if (interceptor != null) {
-                interceptor.onPublish(clientConfig, pubAckBuilder.getPublish().stateless(), pubAckBuilder);
-            }
+    private @NotNull MqttPubAck buildPubAck(final @NotNull MqttStatefulPublish publish) {
+        final Mqtt5IncomingQos1Interceptor interceptor = qos1Interceptor;
+        if (interceptor == null) {
+            return new MqttPubAck(publish.getPacketIdentifier(), MqttPubAck.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubAckBuilder pubAckBuilder = new MqttPubAckBuilder(publish);
+        interceptor.onPublish(clientConfig, publish.stateless(), pubAckBuilder);
         return pubAckBuilder.build();
     }
 
-    private @NotNull MqttPubRec buildPubRec(final @NotNull MqttPubRecBuilder pubRecBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos2Interceptor interceptor = interceptors.getIncomingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPublish(clientConfig, pubRecBuilder.getPublish().stateless(), pubRecBuilder);
-            }
+    private @NotNull MqttPubRec buildPubRec(final @NotNull MqttStatefulPublish publish) {
+        final Mqtt5IncomingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor == null) {
+            return new MqttPubRec(publish.getPacketIdentifier(), MqttPubRec.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubRecBuilder pubRecBuilder = new MqttPubRecBuilder(publish);
+        interceptor.onPublish(clientConfig, publish.stateless(), pubRecBuilder);
         return pubRecBuilder.build();
     }
 
+    private @NotNull MqttPubComp buildPubComp(final @NotNull MqttPubRel pubRel) {
+        if (qos2Interceptor == null) {
+            return new MqttPubComp(pubRel.getPacketIdentifier(), MqttPubComp.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        }
+        return buildPubComp(new MqttPubCompBuilder(pubRel));
+    }
+
     private @NotNull MqttPubComp buildPubComp(final @NotNull MqttPubCompBuilder pubCompBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos2Interceptor interceptor = interceptors.getIncomingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubRel(clientConfig, pubCompBuilder.getPubRel(), pubCompBuilder);
-            }
+        final Mqtt5IncomingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor != null) {
+            interceptor.onPubRel(clientConfig, pubCompBuilder.getPubRel(), pubCompBuilder);
         }
         return pubCompBuilder.build();
     }
@@ -51,7 +51,8 @@ class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
         return missingAcknowledgements == 0;
     }
 
-    void acknowledge(final @NotNull MqttIncomingPublishFlow flow) {
-        flow.acknowledge(--missingAcknowledgements == 0);
+    boolean acknowledge(final @NotNull MqttIncomingPublishFlow flow) {
+        flow.acknowledge();
+        return --missingAcknowledgements == 0;
     }
 }
@@ -39,6 +39,7 @@ import java.util.*;
 public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows {
 
     private @Nullable TopicTreeNode rootNode;
+    private int entryCount;
 
     MqttSubscribedPublishFlowTree() {}
 
@@ -57,6 +58,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         while (node != null) {
             node = node.subscribe(topicIterator, entry);
         }
+        entryCount++;
     }
 
     @Override
@@ -66,7 +68,12 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
-            node = node.suback(topicIterator, topicFilter, subscriptionIdentifier, error);
+            if (topicIterator.hasNext()) {
+                node = node.traverseNext(topicIterator);
+            } else {
+                entryCount -= node.suback(topicIterator, topicFilter, subscriptionIdentifier, error);
+                break;
+            }
         }
         compact();
     }
@@ -76,7 +83,12 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
-            node = node.unsubscribe(topicIterator, topicFilter);
+            if (topicIterator.hasNext()) {
+                node = node.traverseNext(topicIterator);
+            } else {
+                entryCount -= node.unsubscribe(topicIterator, topicFilter);
+                break;
+            }
         }
         compact();
     }
@@ -101,6 +113,24 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         }
     }
 
+    @Override
+    public @Nullable MqttSubscribedPublishFlow getSingleFlow() {
+        if (entryCount != 1) {
+            return null;
+        }
+        // nodes without entries are compacted, so the tree with a single entry is a single path to this entry
+        TopicTreeNode node = rootNode;
+        while (node != null) {
+            final NodeList<TopicTreeEntry> entries = (node.entries != null) ? node.entries : node.multiLevelEntries;
+            if (entries != null) {
+                final TopicTreeEntry entry = entries.getFirst();
+                return (entry == null) ? null : entry.flow;
+            }
+            node = (node.next != null) ? node.next.any() : node.singleLevel;
+        }
+        return null;
+    }
+
     @Override
     public void clear(final @NotNull Throwable cause) {
         TopicTreeNode node = rootNode;
@@ -108,6 +138,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
             node = node.clear(cause);
         }
         rootNode = null;
+        entryCount = 0;
     }
 
     @Override
@@ -210,34 +241,38 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
             return null;
         }
 
-        @Nullable TopicTreeNode suback(
+        /**
+         * @return the amount of removed entries.
+         */
+        int suback(
                 final @NotNull MqttTopicIterator topicIterator,
                 final @NotNull MqttTopicFilterImpl topicFilter,
                 final int subscriptionIdentifier,
                 final boolean error) {
 
-            if (topicIterator.hasNext()) {
-                return traverseNext(topicIterator);
-            }
+            final int removed;
             if (topicIterator.hasMultiLevelWildcard()) {
-                if (suback(multiLevelEntries, topicFilter, subscriptionIdentifier, error)) {
+                removed = suback(multiLevelEntries, topicFilter, subscriptionIdentifier, error);
+                if ((multiLevelEntries != null) && multiLevelEntries.isEmpty()) {
                     multiLevelEntries = null;
                 }
             } else {
-                if (suback(entries, topicFilter, subscriptionIdentifier, error)) {
+                removed = suback(entries, topicFilter, subscriptionIdentifier, error);
+                if ((entries != null) && entries.isEmpty()) {
                     entries = null;
                 }
             }
             compact();
-            return null;
+            return removed;
         }
 
-        private static boolean suback(
+        private static int suback(
                 final @Nullable NodeList<TopicTreeEntry> entries,
                 final @NotNull MqttTopicFilterImpl topicFilter,
                 final int subscriptionIdentifier,
                 final boolean error) {
 
+            int removed = 0;
             if (entries != null) {
                 final byte[] topicFilterPrefix = topicFilter.getPrefix();
                 for (TopicTreeEntry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
@@ -251,36 +286,40 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                                 entry.flow.getTopicFilters().remove(entry.handle);
                             }
                             entries.remove(entry);
+                            removed++;
                         }
                     }
                 }
-                return entries.isEmpty();
             }
-            return false;
+            return removed;
         }
 
-        @Nullable TopicTreeNode unsubscribe(
+        /**
+         * @return the amount of removed entries.
+         */
+        int unsubscribe(
                 final @NotNull MqttTopicIterator topicIterator, final @NotNull MqttTopicFilterImpl topicFilter) {
 
-            if (topicIterator.hasNext()) {
-                return traverseNext(topicIterator);
-            }
+            final int removed;
             if (topicIterator.hasMultiLevelWildcard()) {
-                if (unsubscribe(multiLevelEntries, topicFilter)) {
+                removed = unsubscribe(multiLevelEntries, topicFilter);
+                if ((multiLevelEntries != null) && multiLevelEntries.isEmpty()) {
                     multiLevelEntries = null;
                 }
             } else {
-                if (unsubscribe(entries, topicFilter)) {
+                removed = unsubscribe(entries, topicFilter);
+                if ((entries != null) && entries.isEmpty()) {
                     entries = null;
                 }
             }
             compact();
-            return null;
+            return removed;
         }
 
-        private static boolean unsubscribe(
+        private static int unsubscribe(
                 final @Nullable NodeList<TopicTreeEntry> entries, final @NotNull MqttTopicFilterImpl topicFilter) {
 
+            int removed = 0;
             if (entries != null) {
                 final byte[] topicFilterPrefix = topicFilter.getPrefix();
                 for (TopicTreeEntry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
@@ -293,11 +332,11 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                             }
                         }
                         entries.remove(entry);
+                        removed++;
                     }
                 }
-                return entries.isEmpty();
             }
-            return false;
+            return removed;
         }
 
         @Nullable TopicTreeNode cancel(
@@ -44,6 +44,12 @@ public interface MqttSubscribedPublishFlows {
 
     void findMatching(@NotNull MqttStatefulPublishWithFlows publishWithFlows);
 
+    /**
+     * @return the flow of the only subscription or <code>null</code> if there is not exactly one subscription or the
+     *         only subscription has no flow.
+     */
+    @Nullable MqttSubscribedPublishFlow getSingleFlow();
+
     void clear(@NotNull Throwable cause);
 
     @NotNull Map<@NotNull Integer, @NotNull List<@NotNull MqttSubscription>> getSubscriptions();
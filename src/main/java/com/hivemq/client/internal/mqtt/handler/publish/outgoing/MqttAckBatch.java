@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Publishes a batch of messages with a single flow and emits the results in the order of the batch.
+ *
+ * @author agent
+ */
+public class MqttAckBatch extends Single<List<Mqtt5PublishResult>> {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull ImmutableList<MqttPublish> publishes;
+
+    public MqttAckBatch(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull ImmutableList<MqttPublish> publishes) {
+
+        assert !publishes.isEmpty();
+        this.clientConfig = clientConfig;
+        this.publishes = publishes;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer) {
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+
+            final Flow flow = new Flow(observer, clientConfig, publishes);
+            observer.onSubscribe(flow);
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[publishes.size()];
+            for (int i = 0; i < publishWithFlows.length; i++) {
+                publishWithFlows[i] = new MqttPublishWithFlow(publishes.get(i), flow);
+            }
+            outgoingQosHandler.offerAll(publishWithFlows);
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+
+    static class Flow extends MqttAckFlow implements Disposable {
+
+        private final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer;
+        private final @NotNull ImmutableList<MqttPublish> publishes;
+        private final @NotNull Mqtt5PublishResult @NotNull [] results;
+        private int firstMissing;
+        private int remaining;
+
+        Flow(
+                final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer,
+                final @NotNull MqttClientConfig clientConfig,
+                final @NotNull ImmutableList<MqttPublish> publishes) {
+
+            super(clientConfig);
+            this.observer = observer;
+            this.publishes = publishes;
+            results = new Mqtt5PublishResult[publishes.size()];
+            remaining = publishes.size();
+            init();
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            results[indexOf(result.getPublish())] = result;
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void acknowledged(final long acknowledged) {
+            remaining -= acknowledged;
+            if ((remaining == 0) && setDone()) {
+                observer.onSuccess(ImmutableList.copyOf(results));
+            }
+        }
+
+        /**
+         * Results mostly arrive in the order of the batch, so the search starts at the first missing result. The same
+         * publish may be contained multiple times in a batch, so only indices without a result are matched.
+         *
+         * @throws IllegalStateException if the publish is not contained in the batch without a result.
+         */
+        @CallByThread("Netty EventLoop")
+        private int indexOf(final @NotNull MqttPublish publish) {
+            final Mqtt5PublishResult[] results = this.results;
+            int index = firstMissing;
+            while ((index < results.length) && ((results[index] != null) || (publishes.get(index) != publish))) {
+                index++;
+            }
+            if (index == results.length) {
+                throw new IllegalStateException(
+                        "Result for a publish that is not missing in the batch. This must not happen and is a bug.");
+            }
+            if (index == firstMissing) {
+                int firstMissing = index + 1;
+                while ((firstMissing < results.length) && (results[firstMissing] != null)) {
+                    firstMissing++;
+                }
+                this.firstMissing = firstMissing;
+            }
+            return index;
+        }
+    }
+}
@@ -36,4 +36,20 @@ abstract class MqttAckFlow extends FlowWithEventLoop {
 
     @CallByThread("Netty EventLoop")
     abstract void acknowledged(final long acknowledged);
+
+    /**
+     * @return whether only failed results are materialized, QoS 0 publishes are then written without a promise.
+     */
+    boolean isFireAndForget() {
+        return false;
+    }
+
+    /**
+     * Hands back a QoS 0 Publish message of a fire-and-forget flow after it was written successfully. It is not
+     * referenced anymore, so it can be reused for a following Publish message of this flow.
+     *
+     * @param publishWithFlow the written Publish message.
+     */
+    @CallByThread("Netty EventLoop")
+    void recycle(final @NotNull MqttPublishWithFlow publishWithFlow) {}
 }
@@ -33,12 +33,16 @@ public class MqttAckFlowable extends Flowable<Mqtt5PublishResult> {
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull Flowable<MqttPublish> publishFlowable;
+    private final boolean fireAndForget;
 
     public MqttAckFlowable(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull Flowable<MqttPublish> publishFlowable) {
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull Flowable<MqttPublish> publishFlowable,
+            final boolean fireAndForget) {
 
         this.clientConfig = clientConfig;
         this.publishFlowable = publishFlowable;
+        this.fireAndForget = fireAndForget;
     }
 
     @Override
@@ -48,7 +52,8 @@ public class MqttAckFlowable extends Flowable<Mqtt5PublishResult> {
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, outgoingQosHandler);
+            final MqttAckFlowableFlow flow =
+                    new MqttAckFlowableFlow(subscriber, clientConfig, outgoingQosHandler, fireAndForget);
             subscriber.onSubscribe(flow);
             publishFlowables.add(new MqttPublishFlowableAckLink(publishFlowable, flow));
         } else {
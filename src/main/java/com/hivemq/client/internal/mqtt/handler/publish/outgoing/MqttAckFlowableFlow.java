@@ -19,10 +19,12 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.LinkedFlow;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import io.reactivex.internal.util.BackpressureHelper;
 import io.reactivex.plugins.RxJavaPlugins;
+import org.jctools.queues.SpscArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
@@ -40,9 +42,11 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
     private static final int STATE_NO_NEW_REQUESTS = 0;
     private static final int STATE_NEW_REQUESTS = 1;
     private static final int STATE_BLOCKED = 2;
+    private static final int RECYCLED_PUBLISHES_CAPACITY = 64;
 
     private final @NotNull Subscriber<? super MqttPublishResult> subscriber;
     private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+    private final boolean fireAndForget;
 
     private long requested;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
@@ -56,20 +60,32 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
 
     private final @NotNull AtomicReference<@Nullable LinkedFlow> linkedFlow = new AtomicReference<>();
 
+    // only for fire and forget, produced by the Netty event loop, consumed by the serialized onNext of the ack link
+    private final @Nullable SpscArrayQueue<MqttPublishWithFlow> recycledPublishes;
+
     MqttAckFlowableFlow(
             final @NotNull Subscriber<? super MqttPublishResult> subscriber,
             final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+            final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+            final boolean fireAndForget) {
 
         super(clientConfig);
         this.subscriber = subscriber;
         this.outgoingQosHandler = outgoingQosHandler;
+        this.fireAndForget = fireAndForget;
+        recycledPublishes = fireAndForget ? new SpscArrayQueue<>(RECYCLED_PUBLISHES_CAPACITY) : null;
         init();
     }
 
     @CallByThread("Netty EventLoop")
     @Override
     void onNext(final @NotNull MqttPublishResult result) {
+        if (fireAndForget && (result.getRawError() == null)) {
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+            return;
+        }
         queue.offer(result);
         run();
     }
@@ -128,6 +144,29 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
         }
     }
 
+    @Override
+    boolean isFireAndForget() {
+        return fireAndForget;
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void recycle(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        if (recycledPublishes != null) {
+            recycledPublishes.offer(publishWithFlow);
+        }
+    }
+
+    @NotNull MqttPublishWithFlow publishWithFlow(final @NotNull MqttPublish publish) {
+        if (recycledPublishes != null) {
+            final MqttPublishWithFlow recycled = recycledPublishes.poll();
+            if (recycled != null) {
+                return recycled.reuse(publish);
+            }
+        }
+        return new MqttPublishWithFlow(publish, this);
+    }
+
     void onComplete(final long published) {
         if (!this.published.compareAndSet(0, published)) {
             return;
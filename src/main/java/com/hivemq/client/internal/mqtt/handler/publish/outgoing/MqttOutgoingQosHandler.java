@@ -60,13 +60,14 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
-import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
@@ -82,15 +83,25 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOutgoingQosHandler.class);
     private static final IntIndex.@NotNull Spec<MqttPubOrRelWithFlow> INDEX_SPEC =
             new IntIndex.Spec<>(x -> x.packetIdentifier);
-    private static final int MAX_CONCURRENT_PUBLISH_FLOWABLES = 64; // TODO configurable
-    private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
+    /**
+     * Maximum time a single run may spend resending pending messages before yielding to the event loop.
+     */
+    private static final long RESEND_TIME_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /**
+     * Amount of resent messages after which the time slice is checked, must be a power of 2.
+     */
+    private static final int RESEND_TIME_SLICE_CHECK_INTERVAL = 64;
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttPublishFlowables publishFlowables;
+    private final boolean qos2CompleteResult;
 
     // valid for session
-    private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
+    // elements are single publishes (MqttPublishWithFlow) or batches (MqttPublishWithFlow[])
+    private final @NotNull MpscUnboundedArrayQueue<Object> queue = new MpscUnboundedArrayQueue<>(32);
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
+    private @NotNull MqttPublishWithFlow @Nullable [] currentBatch;
+    private int currentBatchIndex;
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
     private final @NotNull Ranges packetIdentifiers = new Ranges(1, 0);
 
@@ -98,8 +109,11 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private final @NotNull IntIndex<MqttPubOrRelWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
     private @Nullable MqttPubOrRelWithFlow resendPending;
     private @Nullable MqttPublishWithFlow currentPending;
+    private @Nullable MqttPublishWithFlow currentFireAndForget;
+    private MqttStatefulPublish.@Nullable Reusable reusableQos0Publish;
     private int sendMaximum;
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
+    private boolean runScheduled;
 
     private @Nullable Subscription subscription;
     private int shrinkRequests;
@@ -108,6 +122,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     MqttOutgoingQosHandler(final @NotNull MqttClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         publishFlowables = new MqttPublishFlowables();
+        qos2CompleteResult = clientConfig.getAdvancedConfig().isQos2CompleteResult();
     }
 
     @Override
@@ -120,9 +135,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
         if (oldSendMaximum == 0) {
-            publishFlowables.flatMap(
-                    f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newSendMaximum, Flowable.bufferSize()))
-                    .subscribe(this);
+            new MqttPublishFlowablesMerge(publishFlowables,
+                    clientConfig.getAdvancedConfig().getMaxConcurrentPublishFlowables(),
+                    Math.min(newSendMaximum, Flowable.bufferSize()), clientConfig.getStatistics()).subscribe(this);
             assert subscription != null;
             subscription.request(newSendMaximum);
         } else {
@@ -139,8 +154,10 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         pendingIndex.clear();
         resendPending = pending.getFirst();
+        clientConfig.getStatistics().setPendingResends(pending.size());
+        runScheduled = false; // a run scheduled on the event loop of a previous connection may never be executed
         if ((resendPending != null) || (queuedCounter.get() > 0)) {
-            eventLoop.execute(this);
+            scheduleRun(eventLoop);
         }
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
@@ -153,12 +170,49 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        offer(publishWithFlow);
+    }
+
+    /**
+     * Enqueues a single publish directly, bypassing {@link MqttPublishFlowables}.
+     * <p>
+     * Single publishes do not take part in the request accounting of the publish flowables, so their ack flows must not
+     * call {@link #request(long)} when they are acknowledged. Flow control towards the broker is still ensured by the
+     * send maximum.
+     * <p>
+     * The queue is unbounded, so producers of single publishes are not backpressured: publishes that exceed the send
+     * maximum are buffered in memory until pending messages are acknowledged. This is the same as before, when every
+     * single publish was merged as its own flowable without a limit. Applications that need backpressure have to
+     * publish via a flowable, which is only requested as far as the send maximum allows.
+     *
+     * @param publishWithFlow the single publish to enqueue.
+     */
+    void offer(final @NotNull MqttPublishWithFlow publishWithFlow) {
         queue.offer(publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
         }
     }
 
+    /**
+     * Enqueues a batch of publishes directly, bypassing {@link MqttPublishFlowables}.
+     * <p>
+     * The batch is enqueued atomically as a single queue element, so publishes that are enqueued concurrently can not
+     * be interleaved with the publishes of the batch. The batch is written in a single pass (and flushed once) if the
+     * send maximum and the channel writability allow it, otherwise the rest of the batch is written before any other
+     * queued publish.
+     *
+     * @param publishWithFlows the batch of publishes to enqueue, must not be empty.
+     */
+    void offerAll(final @NotNull MqttPublishWithFlow @NotNull [] publishWithFlows) {
+        queue.offer(publishWithFlows);
+        final int queued = queuedCounter.getAndAdd(publishWithFlows.length);
+        // publishes of the batch may already have been dequeued (and subtracted) by a concurrent run
+        if ((queued <= 0) && (queued + publishWithFlows.length > 0)) {
+            publishWithFlows[0].getAckFlow().getEventLoop().execute(this);
+        }
+    }
+
     @Override
     public void onComplete() {
         LOGGER.error("MqttPublishFlowables is global and must never complete. This must not happen and is a bug.");
@@ -184,9 +238,24 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Schedules a run on the event loop if none is scheduled yet, so bursts of events (for example acknowledgements)
+     * only cause a single run.
+     *
+     * @param eventLoop the event loop of the channel.
+     */
+    @CallByThread("Netty EventLoop")
+    private void scheduleRun(final @NotNull EventLoop eventLoop) {
+        if (!runScheduled) {
+            runScheduled = true;
+            eventLoop.execute(this);
+        }
+    }
+
     @CallByThread("Netty EventLoop")
     @Override
     public void run() {
+        runScheduled = false;
         if (!hasSession) {
             if (!isRepublishIfSessionExpired()) {
                 clearQueued(MqttClientStateExceptions.notConnected());
@@ -200,36 +269,75 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         final Channel channel = ctx.channel();
         final int maxWrites = sendMaximum - pendingIndex.size();
         int written = 0;
-        for (MqttPubOrRelWithFlow pubOrRelWithFlow = resendPending;
-             (pubOrRelWithFlow != null) && (written < maxWrites) && channel.isWritable();
-             resendPending = pubOrRelWithFlow = pubOrRelWithFlow.getNext()) {
-            resend(ctx, pubOrRelWithFlow);
-            written++;
+        boolean yielded = false;
+        MqttPubOrRelWithFlow pubOrRelWithFlow = resendPending;
+        if (pubOrRelWithFlow != null) {
+            final long deadline = System.nanoTime() + RESEND_TIME_SLICE_NANOS;
+            while ((pubOrRelWithFlow != null) && (written < maxWrites) && channel.isWritable()) {
+                resend(ctx, pubOrRelWithFlow);
+                resendPending = pubOrRelWithFlow = pubOrRelWithFlow.getNext();
+                written++;
+                if (((written & (RESEND_TIME_SLICE_CHECK_INTERVAL - 1)) == 0) &&
+                        (System.nanoTime() - deadline >= 0) && (pubOrRelWithFlow != null)) {
+                    yielded = true;
+                    break;
+                }
+            }
+            clientConfig.getStatistics().recordResends(written, yielded);
         }
         int dequeued = 0;
-        while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
-            if (publishWithFlow == null) {
-                break;
+        if (resendPending == null) { // new publishes must not overtake the resent messages
+            while ((written < maxWrites) && channel.isWritable()) {
+                final MqttPublishWithFlow publishWithFlow = pollQueued();
+                if (publishWithFlow == null) {
+                    break;
+                }
+                writePublish(ctx, publishWithFlow);
+                written++;
+                dequeued++;
             }
-            writePublish(ctx, publishWithFlow);
-            written++;
-            dequeued++;
         }
         if (written > 0) {
             final boolean wasWritable = channel.isWritable();
             ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
-                channel.eventLoop().execute(this);
+            if (yielded && wasWritable) {
+                scheduleRun(channel.eventLoop());
+            } else if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
+                scheduleRun(channel.eventLoop());
             }
         }
     }
 
+    /**
+     * Polls the next queued publish. The publishes of a batch are polled one after another, the rest of a partially
+     * polled batch is kept until the next call.
+     *
+     * @return the next queued publish or null if the queue is empty.
+     */
+    @CallByThread("Netty EventLoop")
+    private @Nullable MqttPublishWithFlow pollQueued() {
+        MqttPublishWithFlow[] batch = currentBatch;
+        if (batch == null) {
+            final Object queued = queue.poll();
+            if (!(queued instanceof MqttPublishWithFlow[])) {
+                return (MqttPublishWithFlow) queued;
+            }
+            batch = (MqttPublishWithFlow[]) queued;
+            currentBatch = batch;
+            currentBatchIndex = 0;
+        }
+        final MqttPublishWithFlow publishWithFlow = batch[currentBatchIndex++];
+        if (currentBatchIndex == batch.length) {
+            currentBatch = null;
+        }
+        return publishWithFlow;
+    }
+
     @Override
     public void channelWritabilityChanged(final @NotNull ChannelHandlerContext ctx) {
         final Channel channel = ctx.channel();
         if (channel.isWritable()) {
-            channel.eventLoop().execute(this);
+            scheduleRun(channel.eventLoop());
         }
         ctx.fireChannelWritabilityChanged();
     }
@@ -262,8 +370,24 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private void writeQos0Publish(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
 
-        ctx.write(publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
-                new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
+        final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
+        if (ackFlow.isFireAndForget()) {
+            // the stateful publish is encoded during the write, so it and the flow wrapper can be reused afterwards
+            final MqttStatefulPublish.Reusable publish =
+                    publishWithFlow.getPublish().createStatefulQos0(reusableQos0Publish, topicAliasMapping);
+            reusableQos0Publish = publish;
+            currentFireAndForget = publishWithFlow;
+            ctx.write(publish, ctx.voidPromise());
+            if (currentFireAndForget != null) { // not failed in exceptionCaught
+                currentFireAndForget = null;
+                ackFlow.recycle(publishWithFlow);
+                ackFlow.acknowledged(1);
+            }
+        } else {
+            final MqttStatefulPublish publish =
+                    publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping);
+            ctx.write(publish, new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
+        }
     }
 
     @Override
@@ -382,7 +506,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         } else {
             final MqttPubRel pubRel = buildPubRel(publish, pubRec);
 
-            if (QOS_2_COMPLETE_RESULT) {
+            if (qos2CompleteResult) {
                 replacePending(publishWithFlow, new MqttQos2CompleteWithFlow(publish, pubRec, pubRel, ackFlow));
             } else {
                 final MqttQos2IntermediateWithFlow pubRelWithFlow = new MqttQos2IntermediateWithFlow(pubRel, ackFlow);
@@ -434,7 +558,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         onPubComp(pubRel, pubComp);
 
-        if (QOS_2_COMPLETE_RESULT) {
+        if (qos2CompleteResult) {
             final MqttQos2CompleteWithFlow complete = (MqttQos2CompleteWithFlow) pubRelWithFlow;
             ackFlow.onNext(new MqttQos2CompleteResult(complete.getPublish(), complete.getPubRec(), pubRel, pubComp));
         } else {
@@ -456,14 +580,18 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             packetIdentifiers.resize(sendMaximum);
         }
 
-        if (resendPending != null) {
-            ctx.channel().eventLoop().execute(this);
+        // directly offered publishes are not limited by requests, so they may wait for a free slot of the send maximum
+        if ((resendPending != null) || (queuedCounter.get() > 0)) {
+            scheduleRun(ctx.channel().eventLoop());
         }
     }
 
     @Override
     public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
-        if (!(cause instanceof IOException) && (currentPending != null)) {
+        if (!(cause instanceof IOException) && (currentFireAndForget != null)) {
+            currentFireAndForget.getAckFlow().onNext(new MqttPublishResult(currentFireAndForget.getPublish(), cause));
+            currentFireAndForget = null;
+        } else if (!(cause instanceof IOException) && (currentPending != null)) {
             pendingIndex.remove(currentPending.packetIdentifier);
             currentPending.getAckFlow().onNext(new MqttPublishResult(currentPending.getPublish(), cause));
             completePending(ctx, currentPending);
@@ -479,6 +607,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         pendingIndex.clear();
         resendPending = null;
+        reusableQos0Publish = null; // do not retain the last written publish
 
         if (isRepublishIfSessionExpired()) {
             return;
@@ -489,7 +618,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             if (current instanceof MqttPublishWithFlow) {
                 final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) current;
                 current.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
-            } else if (QOS_2_COMPLETE_RESULT) {
+            } else if (qos2CompleteResult) {
                 final MqttQos2CompleteWithFlow complete = (MqttQos2CompleteWithFlow) current;
                 current.getAckFlow().onNext(new MqttQos2Result(complete.getPublish(), cause, complete.getPubRec()));
                 // TODO actually not an error, default PubComp?
@@ -511,7 +640,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private void clearQueued(final @NotNull Throwable cause) {
         int polled = 0;
         while (true) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = pollQueued();
             if (publishWithFlow == null) {
                 if (queuedCounter.addAndGet(-polled) == 0) {
                     break;
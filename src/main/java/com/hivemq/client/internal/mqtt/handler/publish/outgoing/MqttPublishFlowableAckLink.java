@@ -90,7 +90,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
         @Override
         public void onNext(final @NotNull MqttPublish publish) {
             if (state.compareAndSet(STATE_NONE, STATE_IN_PROGRESS)) {
-                subscriber.onNext(new MqttPublishWithFlow(publish, ackFlow));
+                subscriber.onNext(ackFlow.publishWithFlow(publish));
                 published++;
                 if (!state.compareAndSet(STATE_IN_PROGRESS, STATE_NONE)) {
                     cancelActual();
@@ -16,26 +16,31 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
-import com.hivemq.client.internal.logging.InternalLogger;
-import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import io.reactivex.Flowable;
 import io.reactivex.internal.util.BackpressureHelper;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Publish flowables can be added by any thread without blocking, they are queued until they are requested.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
 public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>> implements Subscription {
 
-    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttPublishFlowables.class);
-
-    private @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
-    private long requested;
+    private final @NotNull MpscUnboundedArrayQueue<Flowable<MqttPublishWithFlow>> queue =
+            new MpscUnboundedArrayQueue<>(32);
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
+    private volatile @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
 
     MqttPublishFlowables() {}
 
@@ -44,32 +49,44 @@ public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>
         assert subscriber == null;
         subscriber = s;
         s.onSubscribe(this);
+        drain();
     }
 
     public void add(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
-        synchronized (this) {
-            while (requested == 0) {
-                try {
-                    this.wait();
-                } catch (final InterruptedException e) {
-                    LOGGER.error("thread interrupted while waiting to publish.", e);
-                    return;
-                }
-            }
-            assert subscriber != null;
-            subscriber.onNext(publishFlowable);
-            requested--;
-        }
+        queue.offer(publishFlowable);
+        drain();
     }
 
     @Override
     public void request(final long n) {
-        synchronized (this) {
-            requested = BackpressureHelper.addCap(requested, n);
-            if (requested == n) {
-                this.notifyAll();
-            }
+        BackpressureHelper.add(requested, n);
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
         }
+        int missed = 1;
+        do {
+            final Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber = this.subscriber;
+            if (subscriber != null) {
+                final long requested = this.requested.get();
+                long emitted = 0;
+                while (emitted != requested) {
+                    final Flowable<MqttPublishWithFlow> publishFlowable = queue.poll();
+                    if (publishFlowable == null) {
+                        break;
+                    }
+                    subscriber.onNext(publishFlowable);
+                    emitted++;
+                }
+                if ((emitted != 0) && (requested != Long.MAX_VALUE)) {
+                    this.requested.addAndGet(-emitted);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
     }
 
     @Override
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jctools.queues.SpscArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges the publish flowables of {@link MqttPublishFlowables} like {@link Flowable#flatMap}, but emits the messages of
+ * the concurrently subscribed publish flowables in a round-robin fashion.
+ * <p>
+ * Every publish flowable has its own prefetch buffer, so a single high-volume publish flowable can not monopolize the
+ * requests of the downstream (the send maximum) while the other publish flowables are starving.
+ * <p>
+ * The queueing delay is only measured for every {@value #QUEUEING_DELAY_SAMPLE_INTERVAL}th message of a publish
+ * flowable, so the statistics do not need to read the clock twice for every message.
+ *
+ * @author agent
+ */
+class MqttPublishFlowablesMerge extends Flowable<MqttPublishWithFlow> {
+
+    static final int QUEUEING_DELAY_SAMPLE_INTERVAL = 16;
+
+    private final @NotNull Flowable<? extends Flowable<MqttPublishWithFlow>> source;
+    private final int maxConcurrency;
+    private final int prefetch;
+    private final @NotNull MqttClientStatisticsImpl statistics;
+
+    MqttPublishFlowablesMerge(
+            final @NotNull Flowable<? extends Flowable<MqttPublishWithFlow>> source,
+            final int maxConcurrency,
+            final int prefetch,
+            final @NotNull MqttClientStatisticsImpl statistics) {
+
+        this.source = source;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber) {
+        source.subscribe(new MergeSubscriber(subscriber, maxConcurrency, prefetch, statistics));
+    }
+
+    private static class MergeSubscriber
+            implements FlowableSubscriber<Flowable<MqttPublishWithFlow>>, Subscription {
+
+        private final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final @NotNull MqttClientStatisticsImpl statistics;
+        private @Nullable Subscription subscription;
+
+        private final @NotNull MpscUnboundedArrayQueue<InnerSubscriber> added = new MpscUnboundedArrayQueue<>(32);
+        private final @NotNull AtomicInteger completed = new AtomicInteger();
+        private final @NotNull AtomicLong requested = new AtomicLong();
+        private final @NotNull AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile @Nullable Throwable error;
+        volatile boolean cancelled;
+
+        // only accessed in drain
+        private final @NotNull ArrayList<InnerSubscriber> inners = new ArrayList<>();
+        private int index;
+
+        MergeSubscriber(
+                final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber,
+                final int maxConcurrency,
+                final int prefetch,
+                final @NotNull MqttClientStatisticsImpl statistics) {
+
+            this.subscriber = subscriber;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+            subscription.request(maxConcurrency);
+        }
+
+        @Override
+        public void onNext(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
+            final InnerSubscriber inner = new InnerSubscriber(this, prefetch);
+            added.offer(inner);
+            publishFlowable.subscribe(inner);
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n > 0) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            assert subscription != null;
+            subscription.cancel();
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            assert subscription != null;
+            final ArrayList<InnerSubscriber> inners = this.inners;
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    cancelInners();
+                    missed = wip.addAndGet(-missed);
+                    continue;
+                }
+                InnerSubscriber addedInner;
+                while ((addedInner = added.poll()) != null) {
+                    inners.add(addedInner);
+                }
+
+                final long requested = this.requested.get();
+                long emitted = 0;
+                int size = inners.size();
+                int index = this.index;
+                int idle = 0;
+                while ((emitted != requested) && (idle < size)) {
+                    if (index >= size) {
+                        index = 0;
+                    }
+                    final InnerSubscriber inner = inners.get(index);
+                    final MqttPublishWithFlow publishWithFlow = inner.queue.poll();
+                    if (publishWithFlow == null) {
+                        index++;
+                        idle++;
+                    } else {
+                        final long queuedNanos = publishWithFlow.queuedNanos;
+                        if (queuedNanos != 0) {
+                            statistics.recordPublishFlowableQueueingDelay(
+                                    System.nanoTime() - queuedNanos, QUEUEING_DELAY_SAMPLE_INTERVAL);
+                        }
+                        subscriber.onNext(publishWithFlow);
+                        inner.consumed();
+                        emitted++;
+                        index++;
+                        idle = 0;
+                    }
+                }
+                this.index = index;
+                if (emitted != 0) {
+                    statistics.recordPublishFlowableMessages(emitted);
+                    if (requested != Long.MAX_VALUE) {
+                        this.requested.addAndGet(-emitted);
+                    }
+                }
+
+                if (completed.get() != 0) {
+                    removeCompleted();
+                }
+                if (done && inners.isEmpty() && added.isEmpty()) {
+                    cancelled = true;
+                    final Throwable error = this.error;
+                    if (error == null) {
+                        subscriber.onComplete();
+                    } else {
+                        subscriber.onError(error);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void cancelInners() {
+            final ArrayList<InnerSubscriber> inners = this.inners;
+            for (int i = 0; i < inners.size(); i++) {
+                inners.get(i).cancel();
+            }
+            inners.clear();
+            InnerSubscriber addedInner;
+            while ((addedInner = added.poll()) != null) {
+                addedInner.cancel();
+            }
+        }
+
+        /**
+         * Removes the inner subscribers that are done and whose queues are empty. This is the only place where the
+         * {@link #completed} counter is decremented, inner subscribers increment it before they are marked as done.
+         */
+        private void removeCompleted() {
+            assert subscription != null;
+            final ArrayList<InnerSubscriber> inners = this.inners;
+            int removed = 0;
+            for (int i = inners.size() - 1; i >= 0; i--) {
+                final InnerSubscriber inner = inners.get(i);
+                if (inner.done && inner.queue.isEmpty()) {
+                    inners.remove(i);
+                    if (i < index) {
+                        index--;
+                    }
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                completed.addAndGet(-removed);
+                subscription.request(removed);
+            }
+        }
+    }
+
+    private static class InnerSubscriber implements FlowableSubscriber<MqttPublishWithFlow> {
+
+        private final @NotNull MergeSubscriber parent;
+        final @NotNull SpscArrayQueue<MqttPublishWithFlow> queue;
+        private final int prefetch;
+        private final int limit;
+        volatile boolean done;
+        private volatile @Nullable Subscription subscription;
+        private int consumed;
+        private int received;
+
+        InnerSubscriber(final @NotNull MergeSubscriber parent, final int prefetch) {
+            this.parent = parent;
+            queue = new SpscArrayQueue<>(prefetch);
+            this.prefetch = prefetch;
+            limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            if (parent.cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+            if (received++ % QUEUEING_DELAY_SAMPLE_INTERVAL == 0) {
+                publishWithFlow.queuedNanos = System.nanoTime();
+            }
+            queue.offer(publishWithFlow);
+            parent.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            parent.completed.incrementAndGet();
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            onComplete();
+        }
+
+        void cancel() {
+            final Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                assert subscription != null;
+                subscription.request(limit);
+            }
+        }
+    }
+}
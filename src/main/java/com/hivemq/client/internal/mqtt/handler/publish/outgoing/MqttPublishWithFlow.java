@@ -24,7 +24,8 @@ import org.jetbrains.annotations.NotNull;
  */
 class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
-    private final @NotNull MqttPublish publish;
+    private @NotNull MqttPublish publish;
+    long queuedNanos;
 
     MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
         super(ackFlow);
@@ -34,4 +35,16 @@ class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
     @NotNull MqttPublish getPublish() {
         return publish;
     }
+
+    /**
+     * Reuses this instance for the next Publish message of the same flow after it was {@link
+     * MqttAckFlow#recycle(MqttPublishWithFlow) recycled}.
+     *
+     * @param publish the next Publish message.
+     * @return this instance.
+     */
+    @NotNull MqttPublishWithFlow reuse(final @NotNull MqttPublish publish) {
+        this.publish = publish;
+        return this;
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.ioc;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttConnectAuthHandler;
@@ -26,6 +27,7 @@ import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -35,8 +37,11 @@ import org.jetbrains.annotations.NotNull;
 abstract class ConnectionModule {
 
     @Provides
-    static @NotNull Bootstrap provideBootstrap(final @NotNull MqttChannelInitializer channelInitializer) {
+    static @NotNull Bootstrap provideBootstrap(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttChannelInitializer channelInitializer) {
+
         return new Bootstrap().channelFactory(NettyEventLoopProvider.INSTANCE.getChannelFactory())
+                .option(ChannelOption.ALLOCATOR, clientConfig.getAllocator())
                 .handler(channelInitializer);
     }
 
@@ -29,12 +29,21 @@ import org.jetbrains.annotations.NotNull;
 public abstract class MqttStatefulMessage<M extends MqttMessageWithUserProperties>
         implements MqttMessage.WithUserProperties {
 
-    private final @NotNull M statelessMessage;
+    private @NotNull M statelessMessage;
 
     protected MqttStatefulMessage(final @NotNull M statelessMessage) {
         this.statelessMessage = statelessMessage;
     }
 
+    /**
+     * Replaces the stateless message. Only allowed for stateful messages that are reused by the thread writing them.
+     *
+     * @param statelessMessage the new stateless MQTT message.
+     */
+    protected void setStateless(final @NotNull M statelessMessage) {
+        this.statelessMessage = statelessMessage;
+    }
+
     @Override
     public @NotNull Mqtt5MessageType getType() {
         return statelessMessage.getType();
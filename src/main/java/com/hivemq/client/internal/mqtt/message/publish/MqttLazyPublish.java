@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.checkpoint.Confirmable;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incoming Publish message whose Content Type, Response Topic, Correlation Data and User Properties are only decoded on
+ * first access.
+ * <p>
+ * All instances created for subscribers share the same {@link MqttLazyPublishProperties}, so the properties are
+ * decoded at most once.
+ *
+ * @author agent
+ */
+public class MqttLazyPublish extends MqttPublish {
+
+    private final @NotNull MqttLazyPublishProperties lazyProperties;
+    private final boolean sharesPayloadBuffer;
+
+    public MqttLazyPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @NotNull MqttLazyPublishProperties lazyProperties,
+            final @Nullable Confirmable confirmable,
+            final @Nullable MqttPayloadBuffer payloadBuffer) {
+
+        super(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, null, null, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES, confirmable, payloadBuffer);
+        this.lazyProperties = lazyProperties;
+        sharesPayloadBuffer = payloadBuffer != null;
+    }
+
+    @Override
+    public @Nullable MqttUtf8StringImpl getRawContentType() {
+        return lazyProperties.getContentType();
+    }
+
+    @Override
+    public @Nullable MqttTopicImpl getRawResponseTopic() {
+        return lazyProperties.getResponseTopic();
+    }
+
+    @Override
+    public @Nullable ByteBuffer getRawCorrelationData() {
+        return lazyProperties.getCorrelationData();
+    }
+
+    @Override
+    public @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return lazyProperties.getUserProperties();
+    }
+
+    @Override
+    public boolean releasePayload() {
+        if (sharesPayloadBuffer) {
+            // the raw properties refer to the zero copy payload buffer, so they must be decoded before it is released
+            lazyProperties.ensureDecoded();
+        }
+        return super.releasePayload();
+    }
+
+    @Override
+    protected @NotNull MqttPublish copy(
+            final @Nullable Confirmable confirmable, final @Nullable MqttPayloadBuffer payloadBuffer) {
+
+        return new MqttLazyPublish(getTopic(), getRawPayload(), getQos(), isRetain(), getRawMessageExpiryInterval(),
+                getRawPayloadFormatIndicator(), lazyProperties, confirmable, payloadBuffer);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Properties of an incoming Publish message that are only decoded on first access.
+ * <p>
+ * Only properties that are not needed for processing the Publish message inside the client (Content Type, Response
+ * Topic, Correlation Data and User Properties) are decoded lazily. Decoding happens at most once and is thread-safe.
+ *
+ * @author agent
+ */
+public abstract class MqttLazyPublishProperties {
+
+    private @Nullable MqttUtf8StringImpl contentType;
+    private @Nullable MqttTopicImpl responseTopic;
+    private @Nullable ByteBuffer correlationData;
+    private @NotNull MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+    private volatile boolean decoded;
+
+    void ensureDecoded() {
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    decode();
+                    decoded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the properties and sets them via {@link #set(MqttUtf8StringImpl, MqttTopicImpl, ByteBuffer,
+     * MqttUserPropertiesImpl)}.
+     */
+    protected abstract void decode();
+
+    protected void set(
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties) {
+
+        this.contentType = contentType;
+        this.responseTopic = responseTopic;
+        this.correlationData = correlationData;
+        this.userProperties = userProperties;
+    }
+
+    public @Nullable MqttUtf8StringImpl getContentType() {
+        ensureDecoded();
+        return contentType;
+    }
+
+    public @Nullable MqttTopicImpl getResponseTopic() {
+        ensureDecoded();
+        return responseTopic;
+    }
+
+    public @Nullable ByteBuffer getCorrelationData() {
+        ensureDecoded();
+        return correlationData;
+    }
+
+    public @NotNull MqttUserPropertiesImpl getUserProperties() {
+        ensureDecoded();
+        return userProperties;
+    }
+}
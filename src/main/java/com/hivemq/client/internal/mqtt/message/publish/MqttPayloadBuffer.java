@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reference to the buffer the payload of an incoming Publish message was decoded from without copying.
+ * <p>
+ * Every reference holds one reference count of the buffer and releases it at most once.
+ *
+ * @author agent
+ */
+public class MqttPayloadBuffer extends AtomicBoolean {
+
+    private final @NotNull ByteBuf buffer;
+
+    public MqttPayloadBuffer(final @NotNull ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return a new reference to the same buffer.
+     */
+    public @NotNull MqttPayloadBuffer retain() {
+        buffer.retain();
+        return new MqttPayloadBuffer(buffer);
+    }
+
+    /**
+     * Releases this reference if it was not released yet.
+     *
+     * @return whether this reference was released by this call.
+     */
+    public boolean release() {
+        if (!get() && compareAndSet(false, true)) {
+            buffer.release();
+            return true;
+        }
+        return false;
+    }
+}
@@ -61,6 +61,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     private final @Nullable ByteBuffer correlationData;
 
     private final @Nullable Confirmable confirmable;
+    private final @Nullable MqttPayloadBuffer payloadBuffer;
 
     public MqttPublish(
             final @NotNull MqttTopicImpl topic,
@@ -75,6 +76,24 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
             final @NotNull MqttUserPropertiesImpl userProperties,
             final @Nullable Confirmable confirmable) {
 
+        this(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic,
+                correlationData, userProperties, confirmable, null);
+    }
+
+    public MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable Confirmable confirmable,
+            final @Nullable MqttPayloadBuffer payloadBuffer) {
+
         super(userProperties);
         this.topic = topic;
         this.payload = payload;
@@ -86,6 +105,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         this.responseTopic = responseTopic;
         this.correlationData = correlationData;
         this.confirmable = confirmable;
+        this.payloadBuffer = payloadBuffer;
     }
 
     @Override
@@ -138,7 +158,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<MqttUtf8String> getContentType() {
-        return Optional.ofNullable(contentType);
+        return Optional.ofNullable(getRawContentType());
     }
 
     public @Nullable MqttUtf8StringImpl getRawContentType() {
@@ -147,7 +167,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<MqttTopic> getResponseTopic() {
-        return Optional.ofNullable(responseTopic);
+        return Optional.ofNullable(getRawResponseTopic());
     }
 
     public @Nullable MqttTopicImpl getRawResponseTopic() {
@@ -156,7 +176,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<ByteBuffer> getCorrelationData() {
-        return ByteBufferUtil.optionalReadOnly(correlationData);
+        return ByteBufferUtil.optionalReadOnly(getRawCorrelationData());
     }
 
     public @Nullable ByteBuffer getRawCorrelationData() {
@@ -173,6 +193,12 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         if (!confirmable.confirm()) {
             throw new IllegalStateException("A publish must not be acknowledged more than once");
         }
+        releasePayload();
+    }
+
+    @Override
+    public boolean releasePayload() {
+        return (payloadBuffer != null) && payloadBuffer.release();
     }
 
     @Override
@@ -202,13 +228,55 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return createStateful(packetIdentifier, dup, topicAlias, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
     }
 
-    public @NotNull MqttPublish withConfirmable(final @NotNull Confirmable confirmable) {
+    /**
+     * Creates the stateful QoS 0 instance of this Publish message like {@link #createStateful(int, boolean,
+     * MqttTopicAliasMapping)}, but reuses the given reusable stateful Publish message if present.
+     *
+     * @param reusable          the reusable stateful Publish message or <code>null</code> to create a new one.
+     * @param topicAliasMapping the topic alias mapping or <code>null</code> if topic aliases are not used.
+     * @return the reusable stateful Publish message holding this Publish message.
+     */
+    public MqttStatefulPublish.@NotNull Reusable createStatefulQos0(
+            final MqttStatefulPublish.@Nullable Reusable reusable,
+            final @Nullable MqttTopicAliasMapping topicAliasMapping) {
+
+        final int topicAlias =
+                (topicAliasMapping == null) ? DEFAULT_NO_TOPIC_ALIAS : topicAliasMapping.onPublish(topic);
+        if (reusable == null) {
+            return new MqttStatefulPublish.Reusable(this, topicAlias);
+        }
+        reusable.reuse(this, topicAlias);
+        return reusable;
+    }
+
+    /**
+     * Creates the instance of this incoming Publish message that is emitted to a single subscriber.
+     * <p>
+     * If the payload references the buffer it was decoded from, the returned instance holds its own reference to the
+     * buffer, so every subscriber can release the payload independently.
+     *
+     * @param confirmable the confirmable for manual acknowledgement or <code>null</code> if not acknowledged manually.
+     * @return the instance of this Publish message for a single subscriber.
+     */
+    public @NotNull MqttPublish forSubscriber(final @Nullable Confirmable confirmable) {
+        if ((confirmable == null) && (payloadBuffer == null)) {
+            return this;
+        }
+        return copy(confirmable, (payloadBuffer == null) ? null : payloadBuffer.retain());
+    }
+
+    protected @NotNull MqttPublish copy(
+            final @Nullable Confirmable confirmable, final @Nullable MqttPayloadBuffer payloadBuffer) {
+
         return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                responseTopic, correlationData, getUserProperties(), confirmable);
+                responseTopic, correlationData, getUserProperties(), confirmable, payloadBuffer);
     }
 
     @Override
     protected @NotNull String toAttributeString() {
+        final MqttUtf8StringImpl contentType = getRawContentType();
+        final MqttTopicImpl responseTopic = getRawResponseTopic();
+        final ByteBuffer correlationData = getRawCorrelationData();
         return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") + ", qos=" +
                 qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
                 ", messageExpiryInterval=" + messageExpiryInterval) +
@@ -238,8 +306,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
                 Objects.equals(payload, that.payload) && (qos == that.qos) && (retain == that.retain) &&
                 (messageExpiryInterval == that.messageExpiryInterval) &&
                 (payloadFormatIndicator == that.payloadFormatIndicator) &&
-                Objects.equals(contentType, that.contentType) && Objects.equals(responseTopic, that.responseTopic) &&
-                Objects.equals(correlationData, that.correlationData);
+                Objects.equals(getRawContentType(), that.getRawContentType()) &&
+                Objects.equals(getRawResponseTopic(), that.getRawResponseTopic()) &&
+                Objects.equals(getRawCorrelationData(), that.getRawCorrelationData());
     }
 
     protected boolean canEqual(final @Nullable Object o) {
@@ -255,9 +324,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         result = 31 * result + Boolean.hashCode(retain);
         result = 31 * result + Long.hashCode(messageExpiryInterval);
         result = 31 * result + Objects.hashCode(payloadFormatIndicator);
-        result = 31 * result + Objects.hashCode(contentType);
-        result = 31 * result + Objects.hashCode(responseTopic);
-        result = 31 * result + Objects.hashCode(correlationData);
+        result = 31 * result + Objects.hashCode(getRawContentType());
+        result = 31 * result + Objects.hashCode(getRawResponseTopic());
+        result = 31 * result + Objects.hashCode(getRawCorrelationData());
         return result;
     }
 }
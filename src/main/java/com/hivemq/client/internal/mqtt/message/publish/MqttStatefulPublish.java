@@ -35,7 +35,7 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
     public static final @NotNull ImmutableIntList DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS = ImmutableIntList.of();
 
     private final boolean dup;
-    private final int topicAlias;
+    private int topicAlias;
     private final @NotNull ImmutableIntList subscriptionIdentifiers;
 
     MqttStatefulPublish(
@@ -77,4 +77,24 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
     public @NotNull String toString() {
         return "MqttStatefulPublish{" + toAttributeString() + '}';
     }
+
+    /**
+     * Stateful QoS 0 Publish message that is reused for writing Publish messages one after another.
+     * <p>
+     * Must only be written on the Netty event loop to a pipeline that encodes it during the write, so it does not
+     * escape the write and can be reused for the next Publish message.
+     *
+     * @author agent
+     */
+    public static class Reusable extends MqttStatefulPublish {
+
+        Reusable(final @NotNull MqttPublish publish, final int topicAlias) {
+            super(publish, NO_PACKET_IDENTIFIER_QOS_0, false, topicAlias, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        }
+
+        void reuse(final @NotNull MqttPublish publish, final int topicAlias) {
+            setStateless(publish);
+            ((MqttStatefulPublish) this).topicAlias = topicAlias;
+        }
+    }
 }
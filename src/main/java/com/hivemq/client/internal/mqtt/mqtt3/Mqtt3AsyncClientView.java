@@ -17,6 +17,7 @@
 package com.hivemq.client.internal.mqtt.mqtt3;
 
 import com.hivemq.client.internal.mqtt.MqttAsyncClient;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.exceptions.mqtt3.Mqtt3ExceptionFactory;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.connack.mqtt3.Mqtt3ConnAckView;
@@ -263,6 +264,11 @@ public class Mqtt3AsyncClientView implements Mqtt3AsyncClient {
         return clientConfig;
     }
 
+    @Override
+    public @NotNull MqttTopicImpl topic(final @Nullable String topic) {
+        return delegate.topic(topic);
+    }
+
     @Override
     public @NotNull Mqtt3RxClient toRx() {
         return new Mqtt3RxClientView(delegate.toRx());
@@ -200,6 +200,19 @@ public final class MqttChecks {
         return Checks.notImplemented(publish, MqttPublish.class, "Publish");
     }
 
+    @Contract("null -> fail")
+    public static @NotNull ImmutableList<MqttPublish> publishes(
+            final @Nullable Iterable<? extends @Nullable Mqtt5Publish> publishes) {
+
+        Checks.notNull(publishes, "Publishes");
+        final ImmutableList.Builder<MqttPublish> builder = (publishes instanceof Collection) ?
+                ImmutableList.builder(((Collection<?>) publishes).size()) : ImmutableList.builder();
+        for (final Mqtt5Publish publish : publishes) {
+            builder.add(publish(publish));
+        }
+        return builder.build();
+    }
+
     @Contract("null -> fail")
     public static @NotNull MqttPublish publish(final @Nullable Mqtt3Publish publish) {
         return Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate();
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author agent
+ */
+public final class NettyByteBufAllocatorUtil {
+
+    private static final int MAX_ORDER = 14;
+
+    /**
+     * Pooled buffer allocators by their options, so clients with the same buffer options share the pooled memory
+     * instead of each reserving (and never releasing) its own arenas.
+     */
+    private static final @NotNull ConcurrentHashMap<Long, PooledByteBufAllocator> POOLED_ALLOCATORS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Returns the buffer allocator for the buffer options of the given executor configuration.
+     *
+     * @param executorConfig the executor configuration.
+     * @return the shared default buffer allocator of Netty if all buffer options have their default values, otherwise
+     *         a pooled buffer allocator that is shared by all clients with the same buffer options or a new unpooled
+     *         buffer allocator.
+     */
+    public static @NotNull ByteBufAllocator create(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+        final boolean direct = executorConfig.isNettyDirectBuffers();
+        if (!executorConfig.isNettyPooledBuffers()) {
+            return new UnpooledByteBufAllocator(direct);
+        }
+        final int arenas = executorConfig.getRawNettyBufferArenas();
+        final int chunkSize = executorConfig.getRawNettyBufferChunkSize();
+        final boolean threadLocalCaches = executorConfig.isNettyBufferThreadLocalCaches();
+        if (direct && (arenas == MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_ARENAS) &&
+                (chunkSize == MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_CHUNK_SIZE) && threadLocalCaches) {
+            return ByteBufAllocator.DEFAULT;
+        }
+        final int maxOrder = (chunkSize == MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_CHUNK_SIZE) ?
+                PooledByteBufAllocator.defaultMaxOrder() : maxOrder(chunkSize, PooledByteBufAllocator.defaultPageSize());
+        final long key =
+                ((long) arenas << 32) | (maxOrder << 2) | (direct ? 0b10 : 0) | (threadLocalCaches ? 0b01 : 0);
+        return POOLED_ALLOCATORS.computeIfAbsent(key, k -> createPooled(direct, arenas, maxOrder, threadLocalCaches));
+    }
+
+    private static @NotNull PooledByteBufAllocator createPooled(
+            final boolean direct, final int arenas, final int maxOrder, final boolean threadLocalCaches) {
+
+        int heapArenas = PooledByteBufAllocator.defaultNumHeapArena();
+        int directArenas = PooledByteBufAllocator.defaultNumDirectArena();
+        if (arenas != MqttClientExecutorConfigImpl.DEFAULT_NETTY_BUFFER_ARENAS) {
+            heapArenas = arenas;
+            directArenas = arenas;
+        }
+        int tinyCacheSize = 0;
+        int smallCacheSize = 0;
+        int normalCacheSize = 0;
+        boolean useCacheForAllThreads = false;
+        if (threadLocalCaches) {
+            tinyCacheSize = PooledByteBufAllocator.defaultTinyCacheSize();
+            smallCacheSize = PooledByteBufAllocator.defaultSmallCacheSize();
+            normalCacheSize = PooledByteBufAllocator.defaultNormalCacheSize();
+            useCacheForAllThreads = PooledByteBufAllocator.defaultUseCacheForAllThreads();
+        }
+        return new PooledByteBufAllocator(direct, heapArenas, directArenas, PooledByteBufAllocator.defaultPageSize(),
+                maxOrder, tinyCacheSize, smallCacheSize, normalCacheSize, useCacheForAllThreads);
+    }
+
+    /**
+     * Checks that the given chunk size can be configured with the page size of Netty's pooled buffers.
+     *
+     * @param chunkSize the chunk size, must be a power of 2.
+     * @throws IllegalArgumentException if the chunk size is smaller than the page size or bigger than the page size
+     *                                  times 2<sup>{@value #MAX_ORDER}</sup>.
+     */
+    public static void checkChunkSize(final int chunkSize) {
+        maxOrder(chunkSize, PooledByteBufAllocator.defaultPageSize());
+    }
+
+    static int maxOrder(final int chunkSize, final int pageSize) {
+        // chunk size = page size << max order
+        final int maxOrder = Integer.numberOfTrailingZeros(chunkSize) - Integer.numberOfTrailingZeros(pageSize);
+        if ((maxOrder < 0) || (maxOrder > MAX_ORDER)) {
+            throw new IllegalArgumentException("Netty buffer chunk size must be between the page size " + pageSize +
+                    " (io.netty.allocator.pageSize) and " + ((long) pageSize << MAX_ORDER) + ". Found: " + chunkSize);
+        }
+        return maxOrder;
+    }
+
+    private NettyByteBufAllocatorUtil() {}
+}
@@ -18,6 +18,8 @@ package com.hivemq.client.internal.util;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Silvio Giebl
  */
@@ -27,69 +29,89 @@ public final class Utf8Util {
     private static final long NO_FOLLOWING_BYTE = 0b1100_0000L << 56;
     private static final long UTF_16_SURROGATES = 0b1110_0000L << 56;
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
+    private static final long NON_ASCII_MASK = 0x8080_8080_8080_8080L;
 
     public static long isWellFormed(final byte @NotNull [] bytes) {
-        int index = 0;
-        final int end = bytes.length;
+        return isWellFormed(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks if the remaining bytes of the given byte buffer are well-formed UTF-8. The position of the byte buffer is
+     * not changed.
+     * <p>
+     * The bytes are read in place with absolute gets, so heap and direct buffers are checked without copying.
+     *
+     * @param buffer the byte buffer.
+     * @return 0 if well-formed, otherwise the index (relative to the position) after the first malformed byte combined
+     *         with the kind of error.
+     */
+    public static long isWellFormed(final @NotNull ByteBuffer buffer) {
+        final int start = buffer.position();
+        final int end = buffer.limit();
+        int index = start;
         while (true) {
 
+            // ASCII fast path: 8 bytes at a time, independent of the byte order as every byte is masked the same way
+            while ((end - index >= 8) && ((buffer.getLong(index) & NON_ASCII_MASK) == 0)) {
+                index += 8;
+            }
             byte byte1;
             do {
                 if (index >= end) {
                     return 0;
                 }
-            } while ((byte1 = bytes[index++]) >= 0);
+            } while ((byte1 = buffer.get(index++)) >= 0);
 
             if (byte1 < (byte) 0xE0) { // 2 bytes
                 if (index == end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if (byte1 < (byte) 0xC2) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
-                final byte byte2 = bytes[index++];
+                final byte byte2 = buffer.get(index++);
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else if (byte1 < (byte) 0xF0) { // 3 bytes
                 if (index + 1 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
-                final byte byte2 = bytes[index++];
+                final byte byte2 = buffer.get(index++);
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
-                    return index + UTF_16_SURROGATES;
+                    return index - start + UTF_16_SURROGATES;
                 }
-                final byte byte3 = bytes[index++];
+                final byte byte3 = buffer.get(index++);
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else { // 4 bytes
                 if (index + 2 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
-                final byte byte2 = bytes[index++];
+                final byte byte2 = buffer.get(index++);
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
-                    return index + INVALID_CODE_POINTS;
+                    return index - start + INVALID_CODE_POINTS;
                 }
-                final byte byte3 = bytes[index++];
+                final byte byte3 = buffer.get(index++);
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
-                final byte byte4 = bytes[index++];
+                final byte byte4 = buffer.get(index++);
                 if (byte4 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             }
         }
@@ -18,6 +18,7 @@ package com.hivemq.client.mqtt;
 
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.MqttRxClientBuilderBase;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -71,4 +72,18 @@ public interface MqttClient {
     default @NotNull MqttClientState getState() {
         return getConfig().getState();
     }
+
+    /**
+     * Returns a Topic Name that is registered with this client, so it is validated and encoded only once.
+     * <p>
+     * Calling this method multiple times with the same string returns the same Topic Name. The returned Topic Name can
+     * be reused for publishing any amount of messages without validating or converting it again. Registered Topic Names
+     * live as long as this client, so only Topic Names that are published to repeatedly should be registered.
+     *
+     * @param topic the string of the Topic Name.
+     * @return the registered Topic Name.
+     * @throws IllegalArgumentException if the string is not a valid Topic Name.
+     * @since 1.4
+     */
+    @NotNull MqttTopic topic(@NotNull String topic);
 }
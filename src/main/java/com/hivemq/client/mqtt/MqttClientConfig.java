@@ -129,4 +129,10 @@ public interface MqttClientConfig {
      * @return the optional connection configuration of the client.
      */
     @NotNull Optional<? extends MqttClientConnectionConfig> getConnectionConfig();
+
+    /**
+     * @return the runtime statistics of the client.
+     * @since 1.4
+     */
+    @NotNull MqttClientStatistics getStatistics();
 }
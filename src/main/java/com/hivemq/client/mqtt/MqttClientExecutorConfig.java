@@ -36,6 +36,21 @@ import java.util.concurrent.Executor;
 public interface MqttClientExecutorConfig {
 
     @NotNull Scheduler DEFAULT_APPLICATION_SCHEDULER = Schedulers.computation();
+    /**
+     * The minimum size in bytes of a chunk of pooled Netty buffers. Additionally, the chunk size must not be smaller
+     * than the page size of Netty's pooled buffers (<code>io.netty.allocator.pageSize</code>, 8 KiB by default).
+     *
+     * @since 1.4
+     */
+    int MIN_NETTY_BUFFER_CHUNK_SIZE = 1 << 13;
+    /**
+     * The maximum size in bytes of a chunk of pooled Netty buffers. Additionally, the chunk size must not be bigger
+     * than 2<sup>14</sup> times the page size of Netty's pooled buffers (<code>io.netty.allocator.pageSize</code>, 8
+     * KiB by default).
+     *
+     * @since 1.4
+     */
+    int MAX_NETTY_BUFFER_CHUNK_SIZE = 1 << 27;
 
     /**
      * Creates a builder for an executor configuration.
@@ -61,6 +76,58 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull Scheduler getApplicationScheduler();
 
+    /**
+     * Returns whether Netty (network communication framework) uses pooled buffers for the network communication of the
+     * client. The default is <code>true</code>.
+     * <p>
+     * If all buffer options have their default values, the client uses the shared default buffer allocator of Netty.
+     * Otherwise every client creates its own buffer allocator. Unpooled buffers can be beneficial for small JVMs where
+     * the memory that is reserved by buffer pools is too high.
+     *
+     * @return whether Netty uses pooled buffers.
+     * @since 1.4
+     */
+    boolean isNettyPooledBuffers();
+
+    /**
+     * Returns whether Netty (network communication framework) prefers direct (off-heap) over heap buffers for the
+     * network communication of the client. The default is <code>true</code>.
+     *
+     * @return whether Netty prefers direct buffers.
+     * @since 1.4
+     */
+    boolean isNettyDirectBuffers();
+
+    /**
+     * Returns the optional user defined amount of arenas of pooled Netty buffers. Each arena is a separately
+     * synchronized part of the buffer pool that is shared by a subset of threads, so more arenas reduce contention but
+     * reserve more memory. Only applies if {@link #isNettyPooledBuffers() pooled buffers} are used.
+     *
+     * @return the optional user defined amount of arenas of pooled Netty buffers.
+     * @since 1.4
+     */
+    @NotNull OptionalInt getNettyBufferArenas();
+
+    /**
+     * Returns the optional user defined size in bytes of a chunk of pooled Netty buffers. A chunk is the unit of memory
+     * that is reserved by an arena at once. Buffers that are bigger than a chunk are not pooled. Only applies if {@link
+     * #isNettyPooledBuffers() pooled buffers} are used.
+     *
+     * @return the optional user defined size in bytes of a chunk of pooled Netty buffers.
+     * @since 1.4
+     */
+    @NotNull OptionalInt getNettyBufferChunkSize();
+
+    /**
+     * Returns whether pooled Netty buffers are cached per thread, so that releasing and allocating buffers on the same
+     * thread does not need to synchronize with the arena. The default is <code>true</code>. Only applies if {@link
+     * #isNettyPooledBuffers() pooled buffers} are used.
+     *
+     * @return whether pooled Netty buffers are cached per thread.
+     * @since 1.4
+     */
+    boolean isNettyBufferThreadLocalCaches();
+
     /**
      * Creates a builder for extending this executor configuration.
      *
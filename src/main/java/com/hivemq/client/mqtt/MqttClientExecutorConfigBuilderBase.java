@@ -63,4 +63,61 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
      */
     @CheckReturnValue
     @NotNull B applicationScheduler(@NotNull Scheduler applicationScheduler);
+
+    /**
+     * Sets whether {@link MqttClientExecutorConfig#isNettyPooledBuffers() Netty uses pooled buffers}.
+     *
+     * @param nettyPooledBuffers whether Netty uses pooled buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyPooledBuffers(boolean nettyPooledBuffers);
+
+    /**
+     * Sets whether {@link MqttClientExecutorConfig#isNettyDirectBuffers() Netty prefers direct buffers}.
+     *
+     * @param nettyDirectBuffers whether Netty prefers direct buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyDirectBuffers(boolean nettyDirectBuffers);
+
+    /**
+     * Sets the optional user defined {@link MqttClientExecutorConfig#getNettyBufferArenas() amount of arenas of pooled
+     * Netty buffers}.
+     *
+     * @param nettyBufferArenas the user defined amount of arenas of pooled Netty buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyBufferArenas(int nettyBufferArenas);
+
+    /**
+     * Sets the optional user defined {@link MqttClientExecutorConfig#getNettyBufferChunkSize() size in bytes of a chunk
+     * of pooled Netty buffers}.
+     * <p>
+     * The value must be a power of 2 between {@link MqttClientExecutorConfig#MIN_NETTY_BUFFER_CHUNK_SIZE} and {@link
+     * MqttClientExecutorConfig#MAX_NETTY_BUFFER_CHUNK_SIZE} and must fit the page size of Netty's pooled buffers.
+     * Clients with the same buffer options share the same buffer pool.
+     *
+     * @param nettyBufferChunkSize the user defined size in bytes of a chunk of pooled Netty buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyBufferChunkSize(int nettyBufferChunkSize);
+
+    /**
+     * Sets whether {@link MqttClientExecutorConfig#isNettyBufferThreadLocalCaches() pooled Netty buffers are cached
+     * per thread}.
+     *
+     * @param nettyBufferThreadLocalCaches whether pooled Netty buffers are cached per thread.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyBufferThreadLocalCaches(boolean nettyBufferThreadLocalCaches);
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+
+/**
+ * Runtime statistics of an {@link MqttClient}.
+ * <p>
+ * The statistics are cumulative over the lifetime of the client. Individual values are updated concurrently, so a
+ * snapshot of multiple values is not necessarily consistent.
+ *
+ * @author agent
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttClientStatistics {
+
+    /**
+     * @return the amount of messages of publish flowables that were passed on to be sent.
+     */
+    long getPublishFlowableMessages();
+
+    /**
+     * Returns the accumulated queueing delay of messages of publish flowables in nanoseconds. The queueing delay of a
+     * message is the time between it is emitted by its publish flowable and it is passed on to be sent.
+     * <p>
+     * The queueing delay is sampled: it is only measured for every 16th message of a publish flowable and counted for
+     * all messages of the sampling interval. Divided by {@link #getPublishFlowableMessages()} it estimates the average
+     * queueing delay.
+     *
+     * @return the estimated accumulated queueing delay of messages of publish flowables in nanoseconds.
+     */
+    long getPublishFlowableQueueingDelayNanos();
+
+    /**
+     * @return the maximum sampled queueing delay of a single message of a publish flowable in nanoseconds.
+     */
+    long getPublishFlowableMaxQueueingDelayNanos();
+
+    /**
+     * Returns the amount of flushes that were saved because multiple flush requests were merged into a single flush.
+     * <p>
+     * Flush requests while reading (for example for PubRel messages in response to PubRec messages) are merged into a
+     * single flush at the end of the read batch. Other flush requests are merged by {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getFlushConsolidationMaxPackets() flush
+     * consolidation} if it is enabled. Acknowledgements that are written outside of reading (for example for manually
+     * acknowledged messages) are flushed together once all currently pending tasks are executed.
+     *
+     * @return the amount of saved flushes.
+     */
+    long getSavedFlushes();
+
+    /**
+     * Returns the amount of pending messages (Publish or PubRel messages) that were resent after reconnecting with an
+     * existing session.
+     *
+     * @return the amount of resent messages.
+     */
+    long getResentMessages();
+
+    /**
+     * Returns the amount of pending messages that still have to be resent after the last reconnect with an existing
+     * session. In contrast to most other statistics this value is not cumulative.
+     * <p>
+     * Pending messages are resent incrementally in time slices so that resending a large amount of messages does not
+     * block the event loop, and only while the channel is writable and the send maximum allows it.
+     *
+     * @return the amount of pending messages that still have to be resent.
+     */
+    int getPendingResends();
+
+    /**
+     * @return the amount of times resending pending messages was paused to yield to other tasks of the event loop.
+     */
+    long getResendYields();
+
+    /**
+     * Returns the amount of incoming QoS 0 Publish messages that were dropped because they were not consumed fast
+     * enough and the {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getIncomingQos0BufferSize()
+     * buffer of incoming QoS 0 Publish messages} was full.
+     *
+     * @return the amount of dropped incoming QoS 0 Publish messages.
+     */
+    long getDroppedQos0Messages();
+
+    /**
+     * Returns the amount of times reading from the connection was paused because incoming Publish messages were not
+     * consumed fast enough, either because of the {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getIncomingReadHighWatermark() high watermark}
+     * or the {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowPolicy#PAUSE_READING QoS 0
+     * overflow policy}.
+     *
+     * @return the amount of times reading from the connection was paused.
+     */
+    long getReadPauses();
+
+    /**
+     * Returns the amount of manual acknowledgements of incoming Publish messages that are not processed yet. In
+     * contrast to most other statistics this value is not cumulative.
+     * <p>
+     * Manual acknowledgements are collected from all threads and processed in bulk.
+     *
+     * @return the amount of manual acknowledgements that are not processed yet.
+     */
+    int getPendingConfirms();
+
+    /**
+     * Returns the amount of direct (off-heap) memory in bytes that is used by the buffer allocator of the client. In
+     * contrast to most other statistics this value is not cumulative.
+     * <p>
+     * If the client uses the shared default buffer allocator (see {@link
+     * MqttClientExecutorConfig#isNettyPooledBuffers() buffer options}), the value includes the memory used by all
+     * clients and other users of the default allocator.
+     *
+     * @return the amount of direct memory in bytes used by the buffer allocator.
+     */
+    long getBufferUsedDirectMemory();
+
+    /**
+     * Returns the amount of heap memory in bytes that is used by the buffer allocator of the client. In contrast to
+     * most other statistics this value is not cumulative.
+     * <p>
+     * If the client uses the shared default buffer allocator, the value includes the memory used by all clients and
+     * other users of the default allocator.
+     *
+     * @return the amount of heap memory in bytes used by the buffer allocator.
+     */
+    long getBufferUsedHeapMemory();
+
+    /**
+     * @return the amount of direct memory arenas of the buffer allocator of the client, 0 if buffers are not pooled.
+     */
+    int getBufferDirectArenas();
+
+    /**
+     * @return the amount of heap memory arenas of the buffer allocator of the client, 0 if buffers are not pooled.
+     */
+    int getBufferHeapArenas();
+
+    /**
+     * @return the amount of thread local caches of the buffer allocator of the client, 0 if buffers are not pooled.
+     */
+    int getBufferThreadLocalCaches();
+}
@@ -35,8 +35,10 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -263,6 +265,48 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
             @NotNull Executor executor,
             boolean manualAcknowledgement);
 
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter in batches.
+     * <p>
+     * A batch is passed to the callback either if it reached the maximum batch size or if the maximum delay elapsed
+     * since the first Publish message of the batch was received. All Publish messages that are available when a batch
+     * is passed to the callback are drained, so batches never exceed the maximum batch size but may be smaller.
+     *
+     * @param filter       the filter with which all incoming Publish messages are filtered.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be greater than 0.
+     * @param maxDelay     the maximum delay until a batch is passed to the callback, must be positive or zero.
+     * @param timeUnit     the time unit of the maximum delay.
+     * @param callback     the callback for batches of incoming Publish messages matching the given filter.
+     * @see #publishesBatched(MqttGlobalPublishFilter, int, long, TimeUnit, Consumer, Executor)
+     * @since 1.4
+     */
+    void publishesBatched(
+            @NotNull MqttGlobalPublishFilter filter,
+            int maxBatchSize,
+            long maxDelay,
+            @NotNull TimeUnit timeUnit,
+            @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback);
+
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter in batches.
+     *
+     * @param filter       the filter with which all incoming Publish messages are filtered.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be greater than 0.
+     * @param maxDelay     the maximum delay until a batch is passed to the callback, must be positive or zero.
+     * @param timeUnit     the time unit of the maximum delay.
+     * @param callback     the callback for batches of incoming Publish messages matching the given filter.
+     * @param executor     the executor where the callback is executed on.
+     * @see #publishesBatched(MqttGlobalPublishFilter, int, long, TimeUnit, Consumer)
+     * @since 1.4
+     */
+    void publishesBatched(
+            @NotNull MqttGlobalPublishFilter filter,
+            int maxBatchSize,
+            long maxDelay,
+            @NotNull TimeUnit timeUnit,
+            @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            @NotNull Executor executor);
+
     /**
      * Unsubscribes this client with the given Unsubscribe message.
      *
@@ -322,6 +366,24 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5PublishBuilder.@NotNull Send<CompletableFuture<Mqtt5PublishResult>> publishWith();
 
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * All Publish messages are enqueued at once and written with a single flush if the send maximum allows it.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *           <li>completes normally with the {@link Mqtt5PublishResult}s in the order of the given Publish messages
+     *             when all Publish messages were published (the results of single Publish messages may contain an
+     *             {@link Mqtt5PublishResult#getError() error}) or
+     *           <li>completes exceptionally if the client is not connected.
+     *         </ul>
+     * @since 1.4
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            @NotNull Iterable<? extends @NotNull Mqtt5Publish> publishes);
+
     /**
      * Re-authenticates this client.
      *
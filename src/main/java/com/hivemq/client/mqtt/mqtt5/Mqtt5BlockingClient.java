@@ -35,6 +35,7 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -172,6 +173,18 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5PublishBuilder.@NotNull Send<Mqtt5PublishResult> publishWith();
 
+    /**
+     * Publishes the given Publish messages as a batch.
+     * <p>
+     * All Publish messages are enqueued at once and written with a single flush if the send maximum allows it.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return the {@link Mqtt5PublishResult}s in the order of the given Publish messages. The results of single Publish
+     *         messages may contain an {@link Mqtt5PublishResult#getError() error}.
+     * @since 1.4
+     */
+    @NotNull List<@NotNull Mqtt5PublishResult> publishAll(@NotNull Iterable<? extends @NotNull Mqtt5Publish> publishes);
+
     /**
      * Re-authenticates this client.
      *
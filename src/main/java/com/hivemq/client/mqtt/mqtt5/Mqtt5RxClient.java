@@ -317,6 +317,30 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @CheckReturnValue
     @NotNull Flowable<Mqtt5PublishResult> publish(@NotNull Flowable<Mqtt5Publish> publishFlowable);
 
+    /**
+     * Creates a {@link Flowable} for publishing the Publish messages emitted by the given {@link Flowable} without
+     * materializing results for successfully published messages.
+     * <p>
+     * In contrast to {@link #publish(Flowable)}, the returned {@link Flowable} only emits the {@link
+     * Mqtt5PublishResult}s of Publish messages that failed. QoS 0 Publish messages are written without tracking the
+     * completion of each single write. If the connection is lost while QoS 0 Publish messages are written, they are
+     * not reported as failed (at most once delivery). Apart from the given Publish messages, the client reuses its
+     * per-message objects for successfully written QoS 0 Publish messages, so they do not produce garbage.
+     *
+     * @param publishFlowable the source of the Publish messages to publish.
+     * @return the {@link Flowable} which
+     *         <ul>
+     *           <li>emits {@link Mqtt5PublishResult}s only for Publish messages that failed,
+     *           <li>completes if the given {@link Flowable} completes, but not before all Publish messages were
+     *             processed, or
+     *           <li>errors with the same exception if the given {@link Flowable} errors, but not before all Publish
+     *             messages were processed.
+     *         </ul>
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull Flowable<Mqtt5PublishResult> publishFireAndForget(@NotNull Flowable<Mqtt5Publish> publishFlowable);
+
     /**
      * Creates a {@link Completable} for re-authenticating this client.
      * <p>
@@ -22,6 +22,8 @@ import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Advanced configuration of an {@link com.hivemq.client.mqtt.mqtt5.Mqtt5Client Mqtt5Client}.
  *
@@ -31,6 +33,32 @@ import org.jetbrains.annotations.Nullable;
 @DoNotImplement
 public interface Mqtt5ClientAdvancedConfig {
 
+    /**
+     * The default maximum amount of publish flowables that are subscribed concurrently.
+     *
+     * @since 1.4
+     */
+    int DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES = 64;
+    /**
+     * The default amount of partitions incoming Publish messages are dispatched to.
+     *
+     * @since 1.4
+     */
+    int DEFAULT_INCOMING_PUBLISH_DISPATCH_PARTITIONS = 1;
+    /**
+     * The default policy that is applied if the buffer of incoming QoS 0 Publish messages is full.
+     *
+     * @since 1.4
+     */
+    @NotNull Mqtt5IncomingQos0OverflowPolicy DEFAULT_INCOMING_QOS_0_OVERFLOW_POLICY =
+            Mqtt5IncomingQos0OverflowPolicy.DROP_OLDEST;
+    /**
+     * The maximum amount of Topic Names of incoming Publish messages that can be cached per connection.
+     *
+     * @since 1.4
+     */
+    int MAX_INCOMING_TOPIC_CACHE_SIZE = 1 << 16;
+
     /**
      * Creates a builder for an advanced configuration.
      *
@@ -53,11 +81,211 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     boolean isValidatePayloadFormat();
 
+    /**
+     * Returns whether a single {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult.Mqtt5Qos2CompleteResult Mqtt5Qos2CompleteResult}
+     * is emitted for a Publish message with QoS level 2 after the PubComp message was received.
+     * <p>
+     * By default (false) a {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult.Mqtt5Qos2Result
+     * Mqtt5Qos2Result} is already emitted after the PubRec message was received.
+     *
+     * @return whether the result of a Publish message with QoS level 2 is emitted after the PubComp message.
+     * @since 1.4
+     */
+    boolean isQos2CompleteResult();
+
     /**
      * @return the optional interceptors of messages.
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * Returns the maximum amount of publish flowables ({@link
+     * com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient#publish(io.reactivex.Flowable) Mqtt5RxClient#publish(Flowable)})
+     * that are subscribed concurrently. Further publish flowables are subscribed when previous ones complete.
+     * <p>
+     * Messages of the concurrently subscribed publish flowables are sent in a round-robin fashion, so a single
+     * high-volume publish flowable can not monopolize the send maximum of the connection.
+     *
+     * @return the maximum amount of concurrently subscribed publish flowables.
+     * @since 1.4
+     */
+    int getMaxConcurrentPublishFlowables();
+
+    /**
+     * Returns the maximum amount of packets after which writes are flushed to the network when flush consolidation is
+     * enabled. Flush consolidation is disabled if this value is 1 (default).
+     * <p>
+     * With flush consolidation, flushes are delayed until either the maximum amount of packets were written or the
+     * {@link #getFlushConsolidationMaxDelay(TimeUnit) maximum delay} elapsed. Latency sensitive packets (PingReq,
+     * Disconnect and Auth) are always flushed immediately.
+     *
+     * @return the maximum amount of packets after which writes are flushed.
+     * @since 1.4
+     */
+    int getFlushConsolidationMaxPackets();
+
+    /**
+     * Returns the maximum delay of a flush when flush consolidation is enabled.
+     *
+     * @param timeUnit the time unit of the returned maximum delay.
+     * @return the maximum delay of a flush in the given time unit.
+     * @see #getFlushConsolidationMaxPackets()
+     * @since 1.4
+     */
+    long getFlushConsolidationMaxDelay(@NotNull TimeUnit timeUnit);
+
+    /**
+     * Returns the amount of partitions incoming Publish messages are dispatched to when they are consumed with a
+     * callback of the {@link com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient Mqtt5AsyncClient}. The default is {@link
+     * #DEFAULT_INCOMING_PUBLISH_DISPATCH_PARTITIONS}, so the callback is called sequentially.
+     * <p>
+     * If greater than 1, the callback is called in parallel by up to this amount of tasks on the executor of the
+     * callback or on the {@link com.hivemq.client.mqtt.MqttClientExecutorConfig#getApplicationScheduler() application
+     * scheduler}. Publish messages are partitioned by their topic, so the callback is still called sequentially and in
+     * order for Publish messages with the same topic.
+     *
+     * @return the amount of partitions incoming Publish messages are dispatched to.
+     * @since 1.4
+     */
+    int getIncomingPublishDispatchPartitions();
+
+    /**
+     * Returns the maximum amount of incoming QoS 0 Publish messages that are buffered if they are not consumed fast
+     * enough. If 0 (default), the {@link
+     * com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectRestrictions#getReceiveMaximum() receive maximum} of the
+     * client is used as the buffer size.
+     *
+     * @return the maximum amount of buffered incoming QoS 0 Publish messages.
+     * @see #getIncomingQos0OverflowPolicy()
+     * @since 1.4
+     */
+    int getIncomingQos0BufferSize();
+
+    /**
+     * Returns the policy that is applied if the {@link #getIncomingQos0BufferSize() buffer of incoming QoS 0 Publish
+     * messages} is full. The default is {@link #DEFAULT_INCOMING_QOS_0_OVERFLOW_POLICY}.
+     * <p>
+     * Dropped messages are counted in the {@link com.hivemq.client.mqtt.MqttClientStatistics#getDroppedQos0Messages()
+     * client statistics}.
+     *
+     * @return the policy that is applied if the buffer of incoming QoS 0 Publish messages is full.
+     * @since 1.4
+     */
+    @NotNull Mqtt5IncomingQos0OverflowPolicy getIncomingQos0OverflowPolicy();
+
+    /**
+     * Returns the amount of buffered incoming Publish messages (of all QoS levels) at which the client stops reading
+     * from the connection. The broker is then backpressured via TCP flow control, so memory stays bounded if the
+     * application does not consume the messages fast enough, without dropping QoS 0 Publish messages. If 0 (default),
+     * reading is not paused because of the amount of buffered messages.
+     * <p>
+     * Reading is resumed if the amount of buffered messages falls to the {@link #getIncomingReadLowWatermark() low
+     * watermark}.
+     * <p>
+     * While reading is paused, PINGRESP messages can not be read either. The client still sends PINGREQ messages to
+     * keep the connection alive, but does not close the connection because of a missing PINGRESP. Consequently, a
+     * broken connection is only detected after reading has been resumed. The same applies if reading is paused by the
+     * {@link Mqtt5IncomingQos0OverflowPolicy#PAUSE_READING} policy.
+     *
+     * @return the high watermark of buffered incoming Publish messages or 0 if disabled.
+     * @since 1.4
+     */
+    int getIncomingReadHighWatermark();
+
+    /**
+     * Returns the amount of buffered incoming Publish messages (of all QoS levels) at which the client resumes reading
+     * from the connection after it was paused because the {@link #getIncomingReadHighWatermark() high watermark} was
+     * reached.
+     *
+     * @return the low watermark of buffered incoming Publish messages.
+     * @since 1.4
+     */
+    int getIncomingReadLowWatermark();
+
+    /**
+     * Returns whether payloads of incoming Publish messages reference the (pooled) buffer they were received in
+     * instead of being copied. The default is <code>false</code>.
+     * <p>
+     * This avoids copying large payloads, but every received Publish message then has to be released via {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#releasePayload()} or {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#acknowledge()}, otherwise the buffer is leaked.
+     *
+     * @return whether payloads of incoming Publish messages are not copied.
+     * @since 1.4
+     */
+    boolean isZeroCopyIncomingPayloads();
+
+    /**
+     * Returns whether payloads of incoming Publish messages are decoded into direct buffers instead of heap buffers.
+     * The default is <code>false</code>.
+     * <p>
+     * Direct buffers avoid an additional copy if the payloads are handed to NIO channels or native code, but are more
+     * expensive to allocate. This does not apply if {@link #isZeroCopyIncomingPayloads() payloads are not copied}.
+     *
+     * @return whether payloads of incoming Publish messages are decoded into direct buffers.
+     * @since 1.4
+     */
+    boolean isDirectBufferPayload();
+
+    /**
+     * Returns whether authentication data of incoming Auth and ConnAck messages is decoded into direct buffers instead
+     * of heap buffers. The default is <code>false</code>.
+     *
+     * @return whether authentication data is decoded into direct buffers.
+     * @since 1.4
+     */
+    boolean isDirectBufferAuth();
+
+    /**
+     * Returns whether correlation data of incoming Publish messages is decoded into direct buffers instead of heap
+     * buffers. The default is <code>false</code>.
+     *
+     * @return whether correlation data is decoded into direct buffers.
+     * @since 1.4
+     */
+    boolean isDirectBufferCorrelationData();
+
+    /**
+     * Returns whether the Content Type, Response Topic, Correlation Data and User Properties of incoming Publish
+     * messages are only decoded on first access. The default is <code>false</code>.
+     * <p>
+     * This avoids decoding these properties for applications that do not read them. The properties are still fully
+     * validated in place when a Publish message is received, so malformed properties close the connection like without
+     * this option. Only the creation of the property objects is deferred to the first access.
+     *
+     * @return whether the properties of incoming Publish messages are decoded lazily.
+     * @since 1.4
+     */
+    boolean isLazyIncomingPublishProperties();
+
+    /**
+     * Returns the maximum amount of Topic Names of incoming Publish messages that are cached per connection. Caching is
+     * disabled if this value is 0 (default).
+     * <p>
+     * A cached Topic Name is reused for every incoming Publish message with the same Topic Name, so it is neither
+     * allocated nor validated again. This is beneficial if the client receives messages for a limited set of topics.
+     * The size is rounded up to the next power of 2.
+     *
+     * @return the maximum amount of cached Topic Names of incoming Publish messages.
+     * @since 1.4
+     */
+    int getIncomingTopicCacheSize();
+
+    /**
+     * Returns the size in bytes of the buffer that outgoing packets are aggregated in until the next flush. Write
+     * aggregation is disabled if this value is 0 (default).
+     * <p>
+     * Consecutive small packets are encoded directly into a shared buffer, so writing many packets at once (for example
+     * a burst of Publish messages) results in a few large buffers handed to the network instead of one buffer per
+     * packet. Packets that do not fit into the buffer and Publish messages with direct payload buffers are still
+     * written separately. Write aggregation is only used after the connection is established.
+     *
+     * @return the size in bytes of the buffer that outgoing packets are aggregated in.
+     * @since 1.4
+     */
+    int getWriteAggregationBufferSize();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
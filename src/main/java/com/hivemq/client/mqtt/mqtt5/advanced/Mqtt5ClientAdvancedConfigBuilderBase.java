@@ -23,6 +23,8 @@ import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Builder base for a {@link Mqtt5ClientAdvancedConfig}.
  *
@@ -51,6 +53,18 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
     @CheckReturnValue
     @NotNull B validatePayloadFormat(boolean validatePayloadFormat);
 
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isQos2CompleteResult() the result of a Publish message with QoS
+     * level 2 is emitted after the PubComp message}.
+     *
+     * @param qos2CompleteResult whether the result of a Publish message with QoS level 2 is emitted after the PubComp
+     *                           message.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B qos2CompleteResult(boolean qos2CompleteResult);
+
     /**
      * Sets the optional {@link Mqtt5ClientInterceptors collection of interceptors of MQTT messages}.
      *
@@ -72,4 +86,152 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      */
     @CheckReturnValue
     Mqtt5ClientInterceptorsBuilder.@NotNull Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getMaxConcurrentPublishFlowables() maximum amount of concurrently
+     * subscribed publish flowables}.
+     * <p>
+     * The value must be greater than 0, the default is {@link
+     * Mqtt5ClientAdvancedConfig#DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES}.
+     *
+     * @param maxConcurrentPublishFlowables the maximum amount of concurrently subscribed publish flowables.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B maxConcurrentPublishFlowables(int maxConcurrentPublishFlowables);
+
+    /**
+     * Enables {@link Mqtt5ClientAdvancedConfig#getFlushConsolidationMaxPackets() flush consolidation}.
+     * <p>
+     * Flushes are delayed until either the given maximum amount of packets were written or the given maximum delay
+     * elapsed. A maximum amount of packets of 1 disables flush consolidation.
+     *
+     * @param maxPackets the maximum amount of packets after which writes are flushed, must be greater than 0.
+     * @param maxDelay   the maximum delay of a flush, must be positive or zero.
+     * @param timeUnit   the time unit of the maximum delay.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B flushConsolidation(int maxPackets, long maxDelay, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingPublishDispatchPartitions() amount of partitions incoming
+     * Publish messages are dispatched to}.
+     *
+     * @param incomingPublishDispatchPartitions the amount of partitions, must be greater than 0.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingPublishDispatchPartitions(int incomingPublishDispatchPartitions);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferSize() buffer size} and the {@link
+     * Mqtt5ClientAdvancedConfig#getIncomingQos0OverflowPolicy() overflow policy} for incoming QoS 0 Publish messages.
+     *
+     * @param bufferSize     the maximum amount of buffered incoming QoS 0 Publish messages, must be positive or zero.
+     *                       0 means that the receive maximum of the client is used.
+     * @param overflowPolicy the policy that is applied if the buffer is full.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0Buffer(int bufferSize, @NotNull Mqtt5IncomingQos0OverflowPolicy overflowPolicy);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingReadLowWatermark() low} and {@link
+     * Mqtt5ClientAdvancedConfig#getIncomingReadHighWatermark() high watermark} of buffered incoming Publish messages
+     * at which the client resumes and pauses reading from the connection.
+     *
+     * @param lowWatermark  the low watermark, must be positive or zero and less than the high watermark.
+     * @param highWatermark the high watermark, must be positive or zero. 0 disables pausing reading.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingReadWatermarks(int lowWatermark, int highWatermark);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isZeroCopyIncomingPayloads() payloads of incoming Publish messages
+     * are not copied}.
+     *
+     * @param zeroCopyIncomingPayloads whether payloads of incoming Publish messages are not copied.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B zeroCopyIncomingPayloads(boolean zeroCopyIncomingPayloads);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferPayload() payloads of incoming Publish messages are
+     * decoded into direct buffers}.
+     *
+     * @param directBufferPayload whether payloads are decoded into direct buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B directBufferPayload(boolean directBufferPayload);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferAuth() authentication data is decoded into direct
+     * buffers}.
+     *
+     * @param directBufferAuth whether authentication data is decoded into direct buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B directBufferAuth(boolean directBufferAuth);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isDirectBufferCorrelationData() correlation data of incoming
+     * Publish messages is decoded into direct buffers}.
+     *
+     * @param directBufferCorrelationData whether correlation data is decoded into direct buffers.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B directBufferCorrelationData(boolean directBufferCorrelationData);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isLazyIncomingPublishProperties() the properties of incoming
+     * Publish messages are decoded lazily}.
+     *
+     * @param lazyIncomingPublishProperties whether the properties of incoming Publish messages are decoded lazily.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B lazyIncomingPublishProperties(boolean lazyIncomingPublishProperties);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingTopicCacheSize() maximum amount of cached Topic Names of
+     * incoming Publish messages}.
+     * <p>
+     * The value must be positive or zero and must not be greater than {@link
+     * Mqtt5ClientAdvancedConfig#MAX_INCOMING_TOPIC_CACHE_SIZE}.
+     *
+     * @param incomingTopicCacheSize the maximum amount of cached Topic Names of incoming Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingTopicCacheSize(int incomingTopicCacheSize);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getWriteAggregationBufferSize() size in bytes of the buffer that
+     * outgoing packets are aggregated in}.
+     * <p>
+     * The value must be positive or zero.
+     *
+     * @param writeAggregationBufferSize the size in bytes of the buffer that outgoing packets are aggregated in.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B writeAggregationBufferSize(int writeAggregationBufferSize);
 }
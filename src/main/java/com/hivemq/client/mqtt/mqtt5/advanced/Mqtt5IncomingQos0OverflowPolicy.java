@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Policy that is applied if the buffer of incoming QoS 0 Publish messages is full because the Publish messages are not
+ * consumed fast enough.
+ *
+ * @author agent
+ * @see Mqtt5ClientAdvancedConfig#getIncomingQos0OverflowPolicy()
+ * @since 1.4
+ */
+public enum Mqtt5IncomingQos0OverflowPolicy {
+
+    /**
+     * The oldest buffered QoS 0 Publish message is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new QoS 0 Publish message is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Reading from the network is paused until the buffered QoS 0 Publish messages are consumed to half of the buffer
+     * size. No QoS 0 Publish messages are dropped, but reading of all other messages is paused as well.
+     * <p>
+     * As PINGRESP messages can not be read while reading is paused, the Keep Alive timeout is not applied during
+     * that time (see {@link Mqtt5ClientAdvancedConfig#getIncomingReadHighWatermark()}).
+     */
+    PAUSE_READING
+}
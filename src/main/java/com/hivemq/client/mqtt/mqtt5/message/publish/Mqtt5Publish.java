@@ -118,6 +118,19 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     void acknowledge();
 
+    /**
+     * Releases the payload of this incoming Publish message if it references the buffer it was received in, see
+     * {@link com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isZeroCopyIncomingPayloads()}. The
+     * payload (including payloads of copies created via {@link #extend()}) must not be accessed afterwards.
+     * <p>
+     * {@link #acknowledge() Acknowledging} a Publish message also releases its payload.
+     *
+     * @return whether the payload was released by this call, <code>false</code> if the payload does not reference the
+     *         buffer it was received in or was already released.
+     * @since 1.4
+     */
+    boolean releasePayload();
+
     @Override
     default @NotNull Mqtt5MessageType getType() {
         return Mqtt5MessageType.PUBLISH;
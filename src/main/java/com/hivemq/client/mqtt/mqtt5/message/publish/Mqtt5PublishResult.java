@@ -84,7 +84,9 @@ public interface Mqtt5PublishResult {
      * This result additionally provides the {@link Mqtt5PubRec PubRec message}, {@link Mqtt5PubRel PubRel message} and
      * {@link Mqtt5PubComp PubComp message} that acknowledged the Publish message.
      * <p>
-     * By default just a {@link Mqtt5Qos2Result} is provided as a result for a Publish message with QoS level 2.
+     * By default just a {@link Mqtt5Qos2Result} is provided as a result for a Publish message with QoS level 2. This
+     * result is only provided if {@link
+     * com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isQos2CompleteResult() enabled}.
      */
     @DoNotImplement
     interface Mqtt5Qos2CompleteResult extends Mqtt5Qos2Result {
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author agent
+ */
+class MqttBatchCallbackSubscriberTest {
+
+    @Test
+    void maxBatchSize() throws InterruptedException {
+        final int count = 1_000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final List<List<Mqtt5Publish>> batches = new CopyOnWriteArrayList<>();
+
+        Flowable.range(0, count)
+                .map(i -> Mqtt5Publish.builder().topic("topic/" + i).build())
+                .subscribe(new MqttBatchCallbackSubscriber(batch -> {
+                    batches.add(batch);
+                    for (int i = 0; i < batch.size(); i++) {
+                        latch.countDown();
+                    }
+                }, 10, TimeUnit.MILLISECONDS.toNanos(100), Schedulers.single()));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        int i = 0;
+        for (final List<Mqtt5Publish> batch : batches) {
+            assertTrue(batch.size() <= 10);
+            for (final Mqtt5Publish publish : batch) {
+                assertEquals("topic/" + i++, publish.getTopic().toString());
+            }
+        }
+        assertEquals(count, i);
+    }
+
+    @Test
+    void maxDelay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<List<Mqtt5Publish>> batches = new CopyOnWriteArrayList<>();
+
+        Flowable.range(0, 3)
+                .map(i -> Mqtt5Publish.builder().topic("topic").build())
+                .subscribe(new MqttBatchCallbackSubscriber(batch -> {
+                    batches.add(batch);
+                    latch.countDown();
+                }, 10, TimeUnit.MILLISECONDS.toNanos(10), Schedulers.single()));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+    }
+}
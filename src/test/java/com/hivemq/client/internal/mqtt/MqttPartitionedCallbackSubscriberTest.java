@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author agent
+ */
+class MqttPartitionedCallbackSubscriberTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void orderPerTopic() throws InterruptedException {
+        final int count = 10_000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+        Flowable.range(0, count)
+                .map(i -> Mqtt5Publish.builder().topic("topic/" + (i % 8)).payload(new byte[]{(byte) (i / 8)}).build())
+                .subscribe(new MqttPartitionedCallbackSubscriber(publish -> {
+                    received.computeIfAbsent(publish.getTopic().toString(), topic -> new ArrayList<>())
+                            .add(publish.getPayloadAsBytes()[0] & 0xFF);
+                    latch.countDown();
+                }, 4, executor));
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(8, received.size());
+        for (final List<Integer> values : received.values()) {
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(i & 0xFF, values.get(i));
+            }
+        }
+    }
+
+    @Test
+    void requestsAreBounded() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicLong requested = new AtomicLong();
+
+        Flowable.range(0, 100_000)
+                .map(i -> Mqtt5Publish.builder().topic("topic").build())
+                .doOnRequest(requested::addAndGet)
+                .subscribe(new MqttPartitionedCallbackSubscriber(publish -> {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ignored) {
+                    }
+                }, 2, executor));
+
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        assertEquals(2 * Flowable.bufferSize(), requested.get());
+        release.countDown();
+    }
+}
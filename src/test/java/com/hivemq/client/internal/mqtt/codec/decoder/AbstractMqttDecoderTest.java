@@ -102,12 +102,10 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(MqttClientAdvancedConfig.DEFAULT);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    private void createChannel(final @NotNull MqttClientAdvancedConfig advancedConfig) {
         final MqttClientConfig clientConfig =
                 new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
                         MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
@@ -118,7 +116,43 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(true).build());
+    }
+
+    protected void zeroCopyIncomingPayloads() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().zeroCopyIncomingPayloads(true).build());
+    }
+
+    protected void lazyIncomingPublishProperties() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().lazyIncomingPublishProperties(true).build());
+    }
+
+    protected void directBufferPayload() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().directBufferPayload(true).build());
+    }
+
+    protected void directBufferAuth() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().directBufferAuth(true).build());
+    }
+
+    protected void directBufferCorrelationData() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().directBufferCorrelationData(true).build());
+    }
+
+    protected void lazyIncomingPublishPropertiesWithDirectBufferCorrelationData() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().lazyIncomingPublishProperties(true)
+                .directBufferCorrelationData(true)
+                .build());
+    }
+
+    protected void lazyIncomingPublishPropertiesWithZeroCopyPayloads() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().lazyIncomingPublishProperties(true)
+                .zeroCopyIncomingPayloads(true)
+                .build());
+    }
+
+    protected void incomingTopicCache() {
+        createChannel(new MqttClientAdvancedConfigBuilder.Default().incomingTopicCacheSize(16).build());
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
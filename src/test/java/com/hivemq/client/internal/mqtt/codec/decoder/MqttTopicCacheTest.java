@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttTopicCacheTest {
+
+    private static @Nullable MqttTopicImpl decode(final @NotNull MqttTopicCache cache, final @NotNull String string) {
+        final byte[] binary = string.getBytes(StandardCharsets.UTF_8);
+        final ByteBuf byteBuf = Unpooled.buffer();
+        byteBuf.writeByte(1); // leading byte so the topic does not start at index 0
+        byteBuf.writeBytes(binary);
+        byteBuf.writeByte(2); // trailing byte that must not be consumed
+        byteBuf.skipBytes(1);
+        final MqttTopicImpl topic = cache.decode(byteBuf, binary.length);
+        assertEquals(1, byteBuf.readableBytes());
+        byteBuf.release();
+        return topic;
+    }
+
+    @Test
+    void decode_hit_returnsSameInstance() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+        final MqttTopicImpl topic1 = decode(cache, "a/b/c");
+        final MqttTopicImpl topic2 = decode(cache, "a/b/c");
+        assertNotNull(topic1);
+        assertEquals("a/b/c", topic1.toString());
+        assertSame(topic1, topic2);
+    }
+
+    @Test
+    void decode_differentTopics() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+        final MqttTopicImpl topic1 = decode(cache, "a/b/c");
+        final MqttTopicImpl topic2 = decode(cache, "a/b/d");
+        assertNotNull(topic1);
+        assertNotNull(topic2);
+        assertEquals("a/b/c", topic1.toString());
+        assertEquals("a/b/d", topic2.toString());
+    }
+
+    @Test
+    void decode_singleSlot_replacesEntry() {
+        final MqttTopicCache cache = new MqttTopicCache(1);
+        final MqttTopicImpl topic1 = decode(cache, "a/b/c");
+        final MqttTopicImpl topic2 = decode(cache, "a/b/d");
+        assertEquals("a/b/d", String.valueOf(topic2));
+        final MqttTopicImpl topic3 = decode(cache, "a/b/c");
+        assertEquals(topic1, topic3);
+        assertNotSame(topic1, topic3);
+        assertSame(topic3, decode(cache, "a/b/c"));
+    }
+
+    @Test
+    void decode_wildcard_returnsNull() {
+        final MqttTopicCache cache = new MqttTopicCache(16);
+        assertNull(decode(cache, "a/+/c"));
+        assertNull(decode(cache, "a/+/c"));
+    }
+}
@@ -97,6 +97,37 @@ class Mqtt5AuthDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals("value", userProperties.get(2).getValue().toString());
     }
 
+    @Test
+    void decode_directBufferAuth() {
+        directBufferAuth();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                (byte) 0b1111_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   reason code (continue)
+                0x18,
+                //   properties
+                19,
+                //     auth method
+                0x15, 0, 8, 'G', 'S', '2', '-', 'K', 'R', 'B', '5',
+                //     auth data
+                0x16, 0, 5, 1, 2, 3, 4, 5
+        };
+
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+        final MqttAuth auth = channel.readInbound();
+
+        assertNotNull(auth);
+        assertTrue(auth.getData().isPresent());
+        assertTrue(auth.getData().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), auth.getData().get());
+    }
+
     @Test
     void decode_minimum_packet() {
         final byte[] encoded = {
@@ -164,6 +164,31 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}), publish.getPayload().get());
     }
 
+    @Test
+    void decode_topicCache() {
+        incomingTopicCache();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                9,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1
+        };
+        final MqttPublish publish1 = decode(encoded);
+        final MqttPublish publish2 = decode(encoded);
+        assertEquals("topic", publish1.getTopic().toString());
+        assertSame(publish1.getTopic(), publish2.getTopic());
+        assertTrue(publish2.getPayload().isPresent());
+        assertEquals(ByteBuffer.wrap(new byte[]{1}), publish2.getPayload().get());
+    }
+
     @Test
     void decode_minimal() {
         final byte[] encoded = {
@@ -384,6 +409,202 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals("你 好", new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8));
     }
 
+    @Test
+    void decode_zeroCopyPayload() {
+        zeroCopyIncomingPayloads();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0001,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+
+        assertEquals(1, byteBuf.refCnt());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, publish.getPayloadAsBytes());
+
+        final MqttPublish publishForSubscriber = publish.forSubscriber(null);
+        assertEquals(2, byteBuf.refCnt());
+        assertTrue(publish.releasePayload());
+        assertFalse(publish.releasePayload());
+        assertEquals(1, byteBuf.refCnt());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, publishForSubscriber.getPayloadAsBytes());
+        assertTrue(publishForSubscriber.releasePayload());
+        assertEquals(0, byteBuf.refCnt());
+    }
+
+    @Test
+    void decode_lazyProperties() {
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                51,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                40,
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', 't',
+                //     response topic
+                0x08, 0, 8, 'r', 'e', 's', 'p', 'o', 'n', 's', 'e',
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                //     user properties
+                0x26, 0, 4, 't', 'e', 's', 't', 0, 5, 'v', 'a', 'l', 'u', 'e',
+                // payload
+                1, 2, 3
+        };
+        final MqttPublish eagerPublish = decode(encoded);
+        lazyIncomingPublishProperties();
+        final MqttPublish publish = decode(encoded);
+
+        assertTrue(publish.getContentType().isPresent());
+        assertEquals("text", publish.getContentType().get().toString());
+        assertTrue(publish.getResponseTopic().isPresent());
+        assertEquals("response", publish.getResponseTopic().get().toString());
+        assertTrue(publish.getCorrelationData().isPresent());
+        assertEquals(ByteBuffer.wrap(new byte[]{5, 4, 3, 2, 1}), publish.getCorrelationData().get());
+        final ImmutableList<MqttUserPropertyImpl> userProperties = publish.getUserProperties().asList();
+        assertEquals(1, userProperties.size());
+        assertEquals("test", userProperties.get(0).getName().toString());
+        assertEquals("value", userProperties.get(0).getValue().toString());
+
+        assertEquals(eagerPublish, publish);
+        assertEquals(eagerPublish.hashCode(), publish.hashCode());
+        assertEquals(eagerPublish, publish.forSubscriber(null));
+    }
+
+    @Test
+    void decode_lazyProperties_malformedContentType_returnsNull() {
+        lazyIncomingPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                14,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                6,
+                //     content type
+                0x03, 0, 2, 'a', 0
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyProperties_malformedResponseTopic_returnsNull() {
+        lazyIncomingPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                14,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                6,
+                //     response topic
+                0x08, 0, 2, 'a', '#'
+        };
+        decodeNok(encoded, TOPIC_NAME_INVALID);
+    }
+
+    @Test
+    void decode_lazyProperties_malformedUserProperty_returnsNull() {
+        lazyIncomingPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                7,
+                //     user properties
+                0x26, 0, 1, 'a', 0, 1, 0
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyProperties_zeroCopyPayload_decodedBeforeRelease() {
+        lazyIncomingPublishPropertiesWithZeroCopyPayloads();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                18,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                7,
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', 't',
+                // payload
+                1, 2, 3
+        };
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+
+        assertArrayEquals(new byte[]{1, 2, 3}, publish.getPayloadAsBytes());
+        assertTrue(publish.releasePayload());
+        assertEquals(0, byteBuf.refCnt());
+        assertTrue(publish.getContentType().isPresent());
+        assertEquals("text", publish.getContentType().get().toString());
+    }
+
+    @Test
+    void decode_lazyProperties_contentTypeDuplicate_returnsNull() {
+        lazyIncomingPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                18,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                10,
+                //     content type
+                0x03, 0, 1, 'a',
+                //     content type
+                0x03, 0, 1, 'b'
+        };
+        decodeNok(encoded, PROTOCOL_ERROR);
+    }
+
     @Test
     void decode_invalidPayloadFormatIndicator_returnsNull() {
         validatePayloadFormat();
@@ -773,6 +994,110 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals(ByteBuffer.wrap(new byte[]{5, 4, 3, 2, 1}), publish.getCorrelationData().get());
     }
 
+    @Test
+    void decode_directBufferPayload() {
+        directBufferPayload();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertTrue(publish.getPayload().isPresent());
+        assertTrue(publish.getPayload().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), publish.getPayload().get());
+        assertTrue(publish.getCorrelationData().isPresent());
+        assertFalse(publish.getCorrelationData().get().isDirect());
+    }
+
+    @Test
+    void decode_heapBufferPayloadAndCorrelationDataByDefault() {
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertTrue(publish.getPayload().isPresent());
+        assertFalse(publish.getPayload().get().isDirect());
+        assertTrue(publish.getCorrelationData().isPresent());
+        assertFalse(publish.getCorrelationData().get().isDirect());
+    }
+
+    @Test
+    void decode_directBufferCorrelationData() {
+        directBufferCorrelationData();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertTrue(publish.getCorrelationData().isPresent());
+        assertTrue(publish.getCorrelationData().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{5, 4, 3, 2, 1}), publish.getCorrelationData().get());
+        assertTrue(publish.getPayload().isPresent());
+        assertFalse(publish.getPayload().get().isDirect());
+    }
+
+    @Test
+    void decode_lazyProperties_directBufferCorrelationData() {
+        lazyIncomingPublishPropertiesWithDirectBufferCorrelationData();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                // payload
+                1, 2, 3, 4, 5
+        };
+        final MqttPublish publish = decode(encoded);
+        assertTrue(publish.getCorrelationData().isPresent());
+        assertTrue(publish.getCorrelationData().get().isDirect());
+        assertEquals(ByteBuffer.wrap(new byte[]{5, 4, 3, 2, 1}), publish.getCorrelationData().get());
+    }
+
     @Test
     void decode_correlationDataMoreThanOnce_returnsNull() {
         final byte[] encoded = {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.puback.mqtt3.Mqtt3PubAckView;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt3.message.Mqtt3MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttEncoderTest {
+
+    private final @NotNull MqttMessageEncoders encoders = new MqttMessageEncoders() {{
+        encoders[Mqtt3MessageType.PUBACK.getCode()] = new MqttMessageEncoder<MqttPubAck>() {
+            @Override
+            protected @NotNull ByteBuf encode(
+                    final @NotNull MqttPubAck message, final @NotNull MqttEncoderContext context) {
+
+                return context.allocate(4)
+                        .writeByte(0x40)
+                        .writeByte(2)
+                        .writeShort(message.getPacketIdentifier());
+            }
+        };
+        encoders[Mqtt3MessageType.PINGREQ.getCode()] = new MqttPingReqEncoder();
+    }};
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private EmbeddedChannel channel;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void createChannel(final int maxPackets, final long maxDelay, final @NotNull TimeUnit timeUnit) {
+        createChannel(maxPackets, maxDelay, timeUnit, 0);
+    }
+
+    private void createChannel(
+            final int maxPackets,
+            final long maxDelay,
+            final @NotNull TimeUnit timeUnit,
+            final int writeAggregationBufferSize) {
+
+        final MqttClientAdvancedConfig advancedConfig =
+                new MqttClientAdvancedConfigBuilder.Default().flushConsolidation(maxPackets, maxDelay, timeUnit)
+                        .writeAggregationBufferSize(writeAggregationBufferSize)
+                        .build();
+        clientConfig = new MqttClientConfig(MqttVersion.MQTT_3_1_1, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+        final MqttEncoder encoder = new MqttEncoder(encoders, clientConfig);
+        channel = new EmbeddedChannel(encoder);
+        encoder.onConnected(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 3, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel));
+    }
+
+    @Test
+    void flush_whileReading_mergedAtReadComplete() {
+        createChannel(1, 0, TimeUnit.NANOSECONDS);
+        channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+                for (int i = 1; i <= 3; i++) {
+                    ctx.writeAndFlush(Mqtt3PubAckView.delegate(i));
+                }
+            }
+        });
+
+        channel.writeInbound("read");
+        assertEquals(3, readOutbound());
+        assertEquals(2, clientConfig.getStatistics().getSavedFlushes());
+    }
+
+    @Test
+    void flushConsolidation_disabled() {
+        createChannel(1, 0, TimeUnit.NANOSECONDS);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        assertEquals(1, readOutbound());
+        assertEquals(0, clientConfig.getStatistics().getSavedFlushes());
+    }
+
+    @Test
+    void flushConsolidation_maxPackets() {
+        createChannel(3, 1, TimeUnit.HOURS);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(2));
+        assertEquals(0, readOutbound());
+        channel.writeOutbound(Mqtt3PubAckView.delegate(3));
+        assertEquals(3, readOutbound());
+        assertEquals(2, clientConfig.getStatistics().getSavedFlushes());
+    }
+
+    @Test
+    void flushConsolidation_maxDelay() {
+        createChannel(3, 0, TimeUnit.NANOSECONDS);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        assertEquals(0, readOutbound());
+        channel.runPendingTasks();
+        assertEquals(1, readOutbound());
+    }
+
+    @Test
+    void flushConsolidation_urgentPacketsBypass() {
+        createChannel(3, 1, TimeUnit.HOURS);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        assertEquals(0, readOutbound());
+        channel.writeOutbound(MqttPingReq.INSTANCE);
+        assertEquals(2, readOutbound());
+    }
+
+    @Test
+    void writeAggregation() {
+        createChannel(3, 1, TimeUnit.HOURS, 64);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(2));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(3));
+        assertEquals(12, readOutboundBytes());
+        assertEquals(0, readOutbound());
+    }
+
+    @Test
+    void writeAggregation_bufferFull() {
+        createChannel(3, 1, TimeUnit.HOURS, 10);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(2));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(3));
+        assertEquals(8, readOutboundBytes());
+        assertEquals(4, readOutboundBytes());
+        assertEquals(0, readOutbound());
+    }
+
+    @Test
+    void writeAggregation_separatePacketKeepsOrder() {
+        createChannel(3, 1, TimeUnit.HOURS, 64);
+
+        channel.writeOutbound(Mqtt3PubAckView.delegate(1));
+        channel.writeOutbound(Mqtt3PubAckView.delegate(2));
+        channel.writeOutbound(MqttPingReq.INSTANCE);
+        assertEquals(8, readOutboundBytes());
+        assertEquals(2, readOutboundBytes());
+        assertEquals(0, readOutbound());
+    }
+
+    private int readOutboundBytes() {
+        final ByteBuf byteBuf = channel.readOutbound();
+        final int readableBytes = byteBuf.readableBytes();
+        byteBuf.release();
+        return readableBytes;
+    }
+
+    private int readOutbound() {
+        int count = 0;
+        ByteBuf byteBuf;
+        while ((byteBuf = channel.readOutbound()) != null) {
+            byteBuf.release();
+            count++;
+        }
+        return count;
+    }
+}
@@ -21,6 +21,7 @@ import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -94,6 +95,32 @@ class MqttBinaryDataTest {
         byteBuf.release();
     }
 
+    @Test
+    public void test_encodeBytes_heap_slice() {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}, 1, 3).slice();
+        byteBuffer.position(1);
+        MqttBinaryData.encodeBytes(byteBuffer, byteBuf);
+        assertEquals(3, byteBuf.readByte());
+        assertEquals(4, byteBuf.readByte());
+        assertFalse(byteBuf.isReadable());
+        assertEquals(1, byteBuffer.position());
+        byteBuf.release();
+    }
+
+    @Test
+    public void test_encodeBytes_read_only() {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[]{1, 2, 3}).asReadOnlyBuffer();
+        MqttBinaryData.encodeBytes(byteBuffer, byteBuf);
+        assertEquals(1, byteBuf.readByte());
+        assertEquals(2, byteBuf.readByte());
+        assertEquals(3, byteBuf.readByte());
+        assertFalse(byteBuf.isReadable());
+        assertEquals(0, byteBuffer.position());
+        byteBuf.release();
+    }
+
     @Test
     public void test_isInBinaryDataLength() {
         final byte[] binary = new byte[65_535];
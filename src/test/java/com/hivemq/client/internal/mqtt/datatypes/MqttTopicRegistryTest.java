@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.datatypes;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttTopicRegistryTest {
+
+    @Test
+    void get_sameString_returnsSameInstance() {
+        final MqttTopicRegistry registry = new MqttTopicRegistry();
+        final MqttTopicImpl topic = registry.get("a/b/c");
+        assertEquals("a/b/c", topic.toString());
+        assertSame(topic, registry.get("a/b/c"));
+        assertNotSame(topic, registry.get("a/b/d"));
+        assertEquals(MqttTopicImpl.of("a/b/c"), topic);
+    }
+
+    @Test
+    void get_encode() {
+        final MqttTopicImpl topic = new MqttTopicRegistry().get("a/b/c");
+        final ByteBuf byteBuf = Unpooled.buffer();
+        topic.encode(byteBuf);
+        topic.encode(byteBuf);
+        assertEquals(2 * topic.encodedLength(), byteBuf.readableBytes());
+        for (int i = 0; i < 2; i++) {
+            final byte[] binary = MqttBinaryData.decode(byteBuf);
+            assertNotNull(binary);
+            assertEquals("a/b/c", new String(binary, StandardCharsets.UTF_8));
+        }
+        byteBuf.release();
+        assertEquals("a/b/c", topic.toString());
+    }
+
+    @Test
+    void get_invalid_throws() {
+        final MqttTopicRegistry registry = new MqttTopicRegistry();
+        assertThrows(IllegalArgumentException.class, () -> registry.get("a/+/c"));
+        assertThrows(IllegalArgumentException.class, () -> registry.get(""));
+        assertThrows(NullPointerException.class, () -> registry.get(null));
+    }
+}
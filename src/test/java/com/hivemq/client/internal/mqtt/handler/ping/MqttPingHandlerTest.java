@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.ping;
+
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttPingHandlerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private @Nullable MqttDisconnectEvent disconnectEvent;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttPingHandler pingHandler;
+
+    @BeforeEach
+    void setUp() {
+        // the keep alive interval already elapsed, so the first run is due immediately
+        final long pastNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(10);
+        pingHandler = new MqttPingHandler(10, pastNanos, pastNanos);
+        channel.pipeline().addLast(pingHandler).addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void userEventTriggered(final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+                if (evt instanceof MqttDisconnectEvent) {
+                    disconnectEvent = (MqttDisconnectEvent) evt;
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void writePingReq() {
+        channel.runScheduledPendingTasks();
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+    }
+
+    @Test
+    void pingResp_received_noDisconnect() {
+        writePingReq();
+        channel.writeInbound(MqttPingResp.INSTANCE);
+
+        pingHandler.run(); // timeout
+        assertNull(disconnectEvent);
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void pingResp_missing_disconnect() {
+        writePingReq();
+
+        pingHandler.run(); // timeout
+        assertNotNull(disconnectEvent);
+        assertEquals("Timeout while waiting for PINGRESP", disconnectEvent.getCause().getMessage());
+    }
+
+    @Test
+    void pingResp_missing_readingPaused_noDisconnect() {
+        writePingReq();
+        channel.config().setAutoRead(false);
+
+        pingHandler.run(); // timeout
+        assertNull(disconnectEvent);
+        // keep alive is still maintained by sending PINGREQ messages
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+    }
+
+    @Test
+    void pingResp_missing_readingPausedAtPingReqAndResumed_noDisconnect() {
+        channel.config().setAutoRead(false);
+        writePingReq();
+        channel.config().setAutoRead(true); // PINGRESP may not have been read yet
+
+        pingHandler.run(); // timeout
+        assertNull(disconnectEvent);
+    }
+
+    @Test
+    void pingResp_missing_afterReadingResumed_disconnect() {
+        writePingReq();
+        channel.config().setAutoRead(false);
+        pingHandler.run(); // timeout while reading is paused
+        assertNull(disconnectEvent);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+        channel.config().setAutoRead(true);
+        pingHandler.run(); // timeout of the PINGREQ that was sent while reading was paused
+        assertNull(disconnectEvent);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+
+        pingHandler.run(); // timeout
+        assertNotNull(disconnectEvent);
+        assertEquals("Timeout while waiting for PINGRESP", disconnectEvent.getCause().getMessage());
+    }
+}
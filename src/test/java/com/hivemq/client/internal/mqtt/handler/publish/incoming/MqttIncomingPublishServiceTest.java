@@ -0,0 +1,483 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPayloadBuffer;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttIncomingPublishServiceTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    /**
+     * Tasks executed on the event loop of the publish flows, executed manually to control the order of events.
+     */
+    private final @NotNull Queue<Runnable> flowTasks = new ArrayDeque<>();
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishFlows incomingPublishFlows;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void createHandler(final @NotNull MqttClientAdvancedConfig advancedConfig, final int receiveMaximum) {
+        clientConfig = spy(new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of()));
+        final EventLoop flowEventLoop = mock(EventLoop.class);
+        doAnswer(invocation -> flowTasks.add(invocation.getArgument(0))).when(flowEventLoop).execute(any());
+        doReturn(flowEventLoop).when(clientConfig).acquireEventLoop();
+        doNothing().when(clientConfig).releaseEventLoop();
+        incomingPublishFlows = new MqttIncomingPublishFlows();
+        handler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, receiveMaximum, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel), channel.eventLoop());
+    }
+
+    private void subscribeGlobal(
+            final @NotNull TestSubscriber<Mqtt5Publish> subscriber, final boolean manualAcknowledgement) {
+
+        final MqttGlobalIncomingPublishFlow flow =
+                new MqttGlobalIncomingPublishFlow(subscriber, clientConfig, handler, MqttGlobalPublishFilter.ALL,
+                        manualAcknowledgement);
+        subscriber.onSubscribe(flow);
+        assertTrue(flow.init());
+        incomingPublishFlows.subscribeGlobal(flow);
+    }
+
+    private void subscribe(
+            final @NotNull TestSubscriber<Mqtt5Publish> subscriber, final boolean manualAcknowledgement) {
+
+        final MqttSubscribedPublishFlow flow =
+                new MqttSubscribedPublishFlow(subscriber, clientConfig, handler, manualAcknowledgement);
+        subscriber.onSubscribe(flow);
+        assertTrue(flow.init());
+        incomingPublishFlows.subscribe(new MqttSubscribeBuilder.Default().topicFilter("topic/#").build(), 1, flow);
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final int packetIdentifier, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic("topic/" + packetIdentifier)
+                .qos(qos)
+                .build()
+                .createStateful(packetIdentifier, false, null);
+    }
+
+    /**
+     * Creates a Publish message with a payload that references the given buffer like a zero copy decoded message.
+     */
+    private static @NotNull MqttStatefulPublish publish(
+            final int packetIdentifier, final @NotNull MqttQos qos, final @NotNull ByteBuf payload) {
+
+        return new MqttPublish(MqttTopicImpl.of("topic/" + packetIdentifier), payload.nioBuffer(), qos, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES,
+                null, new MqttPayloadBuffer(payload)).createStateful(packetIdentifier, false, null);
+    }
+
+    private static @NotNull ByteBuf payload() {
+        return Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+    }
+
+    private void runFlowTasks() {
+        Runnable task;
+        while ((task = flowTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private int readPubAck() {
+        channel.runPendingTasks(); // flush acknowledgements written outside of reading
+        final Object message = channel.readOutbound();
+        assertTrue(message instanceof MqttPubAck);
+        return ((MqttPubAck) message).getPacketIdentifier();
+    }
+
+    private void assertTopics(
+            final @NotNull TestSubscriber<Mqtt5Publish> subscriber, final @NotNull String @NotNull ... topics) {
+
+        subscriber.assertValueCount(topics.length);
+        for (int i = 0; i < topics.length; i++) {
+            assertEquals(topics[i], subscriber.values().get(i).getTopic().toString());
+        }
+    }
+
+    @Test
+    void confirm_processedInBulk() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribeGlobal(subscriber, true);
+        channel.writeInbound(publish(1, MqttQos.AT_LEAST_ONCE), publish(2, MqttQos.AT_LEAST_ONCE),
+                publish(3, MqttQos.AT_LEAST_ONCE));
+        subscriber.assertValueCount(3);
+
+        for (final Mqtt5Publish publish : subscriber.values()) {
+            publish.acknowledge();
+        }
+        assertEquals(1, flowTasks.size());
+        assertEquals(3, handler.incomingPublishService.getPendingConfirms());
+
+        runFlowTasks();
+        assertEquals(0, handler.incomingPublishService.getPendingConfirms());
+        assertEquals(1, readPubAck());
+        assertEquals(2, readPubAck());
+        assertEquals(3, readPubAck());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void confirm_duringRun_rescheduled() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<Mqtt5Publish>(1) {
+            @Override
+            public void onNext(final @NotNull Mqtt5Publish publish) {
+                super.onNext(publish);
+                publish.acknowledge();
+            }
+        };
+        subscribeGlobal(subscriber, true);
+        channel.writeInbound(publish(1, MqttQos.AT_LEAST_ONCE), publish(2, MqttQos.AT_LEAST_ONCE));
+        subscriber.assertValueCount(1);
+        assertEquals(1, flowTasks.size()); // confirm task of publish 1
+
+        subscriber.request(1);
+        assertEquals(2, flowTasks.size()); // flow is unblocked by a separate task
+
+        // the confirm task emits publish 2 which is confirmed while the confirm task is running
+        final Runnable confirmTask = flowTasks.poll();
+        assertNotNull(confirmTask);
+        confirmTask.run();
+        subscriber.assertValueCount(2);
+        assertEquals(1, readPubAck());
+        assertNull(channel.readOutbound());
+        assertEquals(1, handler.incomingPublishService.getPendingConfirms());
+        assertEquals(2, flowTasks.size());
+        assertTrue(flowTasks.contains(confirmTask)); // rescheduled for the confirmation that arrived during the run
+
+        runFlowTasks();
+        assertEquals(0, handler.incomingPublishService.getPendingConfirms());
+        assertEquals(2, readPubAck());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void qos0Overflow_dropOldest() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(2,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_OLDEST).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE),
+                publish(3, MqttQos.AT_MOST_ONCE));
+        assertEquals(1, clientConfig.getStatistics().getDroppedQos0Messages());
+
+        subscriber.request(10);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/2", "topic/3");
+    }
+
+    @Test
+    void qos0Overflow_dropNewest() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(2,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_NEWEST).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE),
+                publish(3, MqttQos.AT_MOST_ONCE));
+        assertEquals(1, clientConfig.getStatistics().getDroppedQos0Messages());
+
+        subscriber.request(10);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1", "topic/2");
+    }
+
+    @Test
+    void qos0Overflow_droppedMessagesCounted() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(1,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_NEWEST).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE),
+                publish(3, MqttQos.AT_MOST_ONCE), publish(4, MqttQos.AT_MOST_ONCE));
+        assertEquals(3, clientConfig.getStatistics().getDroppedQos0Messages());
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1");
+        channel.writeInbound(publish(5, MqttQos.AT_MOST_ONCE), publish(6, MqttQos.AT_MOST_ONCE));
+        assertEquals(4, clientConfig.getStatistics().getDroppedQos0Messages());
+    }
+
+    @Test
+    void qos0Overflow_pauseReading() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(2,
+                Mqtt5IncomingQos0OverflowPolicy.PAUSE_READING).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE));
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+
+        // messages that were already read are still buffered
+        channel.writeInbound(publish(3, MqttQos.AT_MOST_ONCE));
+        assertEquals(0, clientConfig.getStatistics().getDroppedQos0Messages());
+
+        subscriber.request(10);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1", "topic/2", "topic/3");
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+    }
+
+    @Test
+    void qos0Overflow_bufferSizeZero_usesReceiveMaximum() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(0,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_NEWEST).build(), 2);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE));
+        assertEquals(0, clientConfig.getStatistics().getDroppedQos0Messages());
+        channel.writeInbound(publish(3, MqttQos.AT_MOST_ONCE));
+        assertEquals(1, clientConfig.getStatistics().getDroppedQos0Messages());
+
+        subscriber.request(10);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1", "topic/2");
+    }
+
+    @Test
+    void readWatermarks_pauseAtHighAndResumeAtLow() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingReadWatermarks(1, 3).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_LEAST_ONCE), publish(2, MqttQos.AT_LEAST_ONCE));
+        assertTrue(channel.config().isAutoRead());
+        channel.writeInbound(publish(3, MqttQos.AT_LEAST_ONCE));
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1");
+        assertFalse(channel.config().isAutoRead()); // 2 buffered messages are above the low watermark
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1", "topic/2");
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+
+        channel.writeInbound(publish(4, MqttQos.AT_LEAST_ONCE), publish(5, MqttQos.AT_LEAST_ONCE));
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(2, clientConfig.getStatistics().getReadPauses());
+
+        subscriber.request(10);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1", "topic/2", "topic/3", "topic/4", "topic/5");
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    void readWatermarks_withQos0PauseReading_resumedIfBothConditionsRelieved() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(4,
+                Mqtt5IncomingQos0OverflowPolicy.PAUSE_READING).incomingReadWatermarks(1, 3).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE), publish(2, MqttQos.AT_MOST_ONCE),
+                publish(3, MqttQos.AT_MOST_ONCE));
+        assertFalse(channel.config().isAutoRead()); // high watermark reached, QoS 0 buffer not full
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertFalse(channel.config().isAutoRead()); // QoS 0 buffer half full, but above the low watermark
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(1, clientConfig.getStatistics().getReadPauses());
+        assertTopics(subscriber, "topic/1", "topic/2");
+    }
+
+    @Test
+    void payload_noMatchingFlow_released() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final ByteBuf payload1 = payload();
+        final ByteBuf payload2 = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE, payload1), publish(2, MqttQos.AT_LEAST_ONCE, payload2));
+        assertEquals(0, payload1.refCnt());
+        assertEquals(0, payload2.refCnt());
+        assertEquals(2, readPubAck());
+    }
+
+    @Test
+    void payload_singleFlow_readableUntilReleasedBySubscriber() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribe(subscriber, false);
+        final ByteBuf payload1 = payload();
+        final ByteBuf payload2 = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE, payload1)); // acquires the requests of the flow
+        channel.writeInbound(publish(2, MqttQos.AT_MOST_ONCE, payload2)); // emitted via the single flow fast path
+        assertTopics(subscriber, "topic/1", "topic/2");
+        // the reference of the client is released, the subscriber holds its own reference
+        assertEquals(1, payload1.refCnt());
+        assertEquals(1, payload2.refCnt());
+
+        final Mqtt5Publish publish2 = subscriber.values().get(1);
+        assertArrayEquals(new byte[]{1, 2, 3}, publish2.getPayloadAsBytes());
+        assertTrue(publish2.releasePayload());
+        assertEquals(0, payload2.refCnt());
+        assertFalse(publish2.releasePayload());
+        assertTrue(subscriber.values().get(0).releasePayload());
+        assertEquals(0, payload1.refCnt());
+    }
+
+    @Test
+    void payload_multipleFlows_everySubscriberHoldsOwnReference() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<Mqtt5Publish> subscriber1 = new TestSubscriber<>();
+        final TestSubscriber<Mqtt5Publish> subscriber2 = new TestSubscriber<>();
+        subscribeGlobal(subscriber1, false);
+        subscribeGlobal(subscriber2, false);
+        final ByteBuf payload = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE, payload));
+        assertTopics(subscriber1, "topic/1");
+        assertTopics(subscriber2, "topic/1");
+        assertEquals(2, payload.refCnt());
+
+        assertTrue(subscriber1.values().get(0).releasePayload());
+        assertFalse(subscriber1.values().get(0).releasePayload());
+        assertEquals(1, payload.refCnt());
+        assertArrayEquals(new byte[]{1, 2, 3}, subscriber2.values().get(0).getPayloadAsBytes());
+        assertTrue(subscriber2.values().get(0).releasePayload());
+        assertEquals(0, payload.refCnt());
+    }
+
+    @Test
+    void payload_manualAcknowledgement_releasedByAcknowledge() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribeGlobal(subscriber, true);
+        final ByteBuf payload = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_LEAST_ONCE, payload));
+        assertTopics(subscriber, "topic/1");
+        assertEquals(1, payload.refCnt());
+
+        final Mqtt5Publish publish = subscriber.values().get(0);
+        publish.acknowledge();
+        assertEquals(0, payload.refCnt());
+        assertFalse(publish.releasePayload());
+        runFlowTasks();
+        assertEquals(1, readPubAck());
+    }
+
+    @Test
+    void payload_qos0Overflow_dropOldest_released() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(1,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_OLDEST).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+        final ByteBuf payload1 = payload();
+        final ByteBuf payload2 = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE, payload1), publish(2, MqttQos.AT_MOST_ONCE, payload2));
+        assertEquals(0, payload1.refCnt());
+        assertEquals(1, payload2.refCnt());
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/2");
+        assertEquals(1, payload2.refCnt()); // now only referenced by the subscriber
+        assertTrue(subscriber.values().get(0).releasePayload());
+        assertEquals(0, payload2.refCnt());
+    }
+
+    @Test
+    void payload_qos0Overflow_dropNewest_released() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0Buffer(1,
+                Mqtt5IncomingQos0OverflowPolicy.DROP_NEWEST).build(), 10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribeGlobal(subscriber, false);
+        final ByteBuf payload1 = payload();
+        final ByteBuf payload2 = payload();
+
+        channel.writeInbound(publish(1, MqttQos.AT_MOST_ONCE, payload1), publish(2, MqttQos.AT_MOST_ONCE, payload2));
+        assertEquals(1, payload1.refCnt());
+        assertEquals(0, payload2.refCnt());
+
+        subscriber.request(1);
+        runFlowTasks();
+        assertTopics(subscriber, "topic/1");
+        assertEquals(1, payload1.refCnt()); // now only referenced by the subscriber
+        assertTrue(subscriber.values().get(0).releasePayload());
+        assertEquals(0, payload1.refCnt());
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPayloadBuffer;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttIncomingQosHandlerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private int flushes;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishFlows incomingPublishFlows;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void createHandler(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        clientConfig = spy(new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of()));
+        doReturn(channel.eventLoop()).when(clientConfig).acquireEventLoop();
+        doNothing().when(clientConfig).releaseEventLoop();
+        incomingPublishFlows = new MqttIncomingPublishFlows();
+        handler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+        channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(final @NotNull ChannelHandlerContext ctx) {
+                flushes++;
+                ctx.flush();
+            }
+        }, handler);
+        connect();
+    }
+
+    private void connect() {
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel), channel.eventLoop());
+    }
+
+    private @NotNull TestSubscriber<Mqtt5Publish> subscribeGlobal(final boolean manualAcknowledgement) {
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        final MqttGlobalIncomingPublishFlow flow =
+                new MqttGlobalIncomingPublishFlow(subscriber, clientConfig, handler, MqttGlobalPublishFilter.ALL,
+                        manualAcknowledgement);
+        subscriber.onSubscribe(flow);
+        assertTrue(flow.init());
+        incomingPublishFlows.subscribeGlobal(flow);
+        return subscriber;
+    }
+
+    private static @NotNull MqttStatefulPublish publishQos1(final int packetIdentifier) {
+        return new MqttPublishBuilder.Default().topic("topic/" + packetIdentifier)
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .build()
+                .createStateful(packetIdentifier, false, null);
+    }
+
+    /**
+     * Creates a QoS 2 Publish message with a payload that references the given buffer like a zero copy decoded
+     * message.
+     */
+    private static @NotNull MqttStatefulPublish publishQos2(
+            final int packetIdentifier, final boolean dup, final @NotNull ByteBuf payload) {
+
+        return new MqttPublish(MqttTopicImpl.of("topic/" + packetIdentifier), payload.nioBuffer(),
+                MqttQos.EXACTLY_ONCE, false, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES, null, new MqttPayloadBuffer(payload)).createStateful(
+                packetIdentifier, dup, null);
+    }
+
+    private int readPubAcks() {
+        int count = 0;
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            assertTrue(message instanceof MqttPubAck);
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void acks_whileReading_flushedOnceAtReadComplete() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        channel.writeInbound(publishQos1(1), publishQos1(2), publishQos1(3));
+        subscriber.assertValueCount(3);
+        assertEquals(3, readPubAcks());
+        assertEquals(1, flushes);
+        // flushes requested while reading are merged (and counted) by the encoder
+        assertEquals(0, clientConfig.getStatistics().getSavedFlushes());
+    }
+
+    @Test
+    void acks_manualAcknowledgementBurst_flushedOnce() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(true);
+
+        channel.writeInbound(publishQos1(1), publishQos1(2), publishQos1(3));
+        subscriber.assertValueCount(3);
+        assertEquals(0, readPubAcks());
+        assertEquals(0, flushes);
+
+        for (final Mqtt5Publish publish : subscriber.values()) {
+            publish.acknowledge();
+        }
+        channel.runPendingTasks();
+        assertEquals(3, readPubAcks());
+        assertEquals(1, flushes);
+        assertEquals(2, clientConfig.getStatistics().getSavedFlushes());
+    }
+
+    @Test
+    void payload_resentPublishAlreadyAcknowledged_released() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+        final ByteBuf payload1 = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        final ByteBuf payload2 = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+
+        channel.writeInbound(publishQos2(1, false, payload1));
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubRec);
+        assertEquals(1, payload1.refCnt()); // referenced by the subscriber
+
+        // the resent message is not passed to the subscriber, only the PUBREC is resent
+        channel.writeInbound(publishQos2(1, true, payload2));
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubRec);
+        assertEquals(0, payload2.refCnt());
+
+        assertTrue(subscriber.values().get(0).releasePayload());
+        assertEquals(0, payload1.refCnt());
+    }
+
+    @Test
+    void acks_readInterruptedByReconnect_acksOfNextConnectionNotDelayed() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(true);
+
+        // the channel is closed while reading, so the read is never completed
+        channel.pipeline().fireChannelRead(publishQos1(1));
+        subscriber.assertValueCount(1);
+        connect();
+
+        // acknowledgements of messages of the previous connection are not sent
+        subscriber.values().get(0).acknowledge();
+        channel.runPendingTasks();
+        assertEquals(0, readPubAcks());
+        assertEquals(0, flushes);
+
+        channel.writeInbound(publishQos1(2));
+        subscriber.assertValueCount(2);
+        assertEquals(0, flushes);
+
+        subscriber.values().get(1).acknowledge();
+        channel.runPendingTasks();
+        assertEquals(1, readPubAcks());
+        assertEquals(1, flushes);
+    }
+}
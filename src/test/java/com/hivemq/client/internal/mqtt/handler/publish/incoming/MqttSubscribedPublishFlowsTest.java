@@ -806,6 +806,76 @@ abstract class MqttSubscribedPublishFlowsTest {
                 (subscriptionId, subscriptionsForId) -> assertEquals(atomicInteger.addAndGet(-2), subscriptionId));
     }
 
+    @Test
+    void getSingleFlow() {
+        assertNull(flows.getSingleFlow());
+
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("test/topic");
+        final MqttSubscription subscription1 = new MqttSubscriptionBuilder.Default().topicFilter("test/topic").build();
+        flows.subscribe(subscription1, 1, flow1);
+        assertSame(flow1, flows.getSingleFlow());
+        flows.suback(subscription1.getTopicFilter(), 1, false);
+        assertSame(flow1, flows.getSingleFlow());
+
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("test/#");
+        final MqttSubscription subscription2 = new MqttSubscriptionBuilder.Default().topicFilter("test/#").build();
+        flows.subscribe(subscription2, 2, flow2);
+        assertNull(flows.getSingleFlow());
+        flows.suback(subscription2.getTopicFilter(), 2, true);
+        assertSame(flow1, flows.getSingleFlow());
+
+        flows.cancel(flow1);
+        assertNull(flows.getSingleFlow());
+    }
+
+    @Test
+    void getSingleFlow_afterUnsubscribe() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("test/topic");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("+/topic");
+        final MqttSubscription subscription1 = new MqttSubscriptionBuilder.Default().topicFilter("test/topic").build();
+        final MqttSubscription subscription2 = new MqttSubscriptionBuilder.Default().topicFilter("+/topic").build();
+        flows.subscribe(subscription1, 1, flow1);
+        flows.suback(subscription1.getTopicFilter(), 1, false);
+        flows.subscribe(subscription2, 2, flow2);
+        flows.suback(subscription2.getTopicFilter(), 2, false);
+        assertNull(flows.getSingleFlow());
+
+        flows.unsubscribe(subscription1.getTopicFilter());
+        assertSame(flow2, flows.getSingleFlow());
+        flows.unsubscribe(subscription2.getTopicFilter());
+        assertNull(flows.getSingleFlow());
+    }
+
+    @Test
+    void getSingleFlow_remainingAfterUnsubscribeOfBranches() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("a/b/c");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("a/b/d");
+        final MqttSubscribedPublishFlow flow3 = mockSubscriptionFlow("+/b/#");
+        final MqttSubscription subscription1 = new MqttSubscriptionBuilder.Default().topicFilter("a/b/c").build();
+        final MqttSubscription subscription2 = new MqttSubscriptionBuilder.Default().topicFilter("a/b/d").build();
+        final MqttSubscription subscription3 = new MqttSubscriptionBuilder.Default().topicFilter("+/b/#").build();
+        flows.subscribe(subscription1, 1, flow1);
+        flows.suback(subscription1.getTopicFilter(), 1, false);
+        flows.subscribe(subscription2, 2, flow2);
+        flows.suback(subscription2.getTopicFilter(), 2, false);
+        flows.subscribe(subscription3, 3, flow3);
+        flows.suback(subscription3.getTopicFilter(), 3, false);
+        assertNull(flows.getSingleFlow());
+
+        flows.unsubscribe(subscription1.getTopicFilter());
+        assertNull(flows.getSingleFlow());
+        flows.unsubscribe(subscription3.getTopicFilter());
+        assertSame(flow2, flows.getSingleFlow());
+
+        flows.subscribe(subscription3, 4, flow3);
+        assertNull(flows.getSingleFlow());
+        flows.suback(subscription3.getTopicFilter(), 4, true);
+        assertSame(flow2, flows.getSingleFlow());
+
+        flows.clear(new Exception());
+        assertNull(flows.getSingleFlow());
+    }
+
     private static @NotNull MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
         final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
         final HandleList<MqttTopicFilterImpl> topicFilters = new HandleList<>();
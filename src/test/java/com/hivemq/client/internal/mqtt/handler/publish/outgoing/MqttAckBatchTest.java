@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttAckBatchTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = spy(new MqttClientConfig(MqttVersion.MQTT_5_0,
+            MqttClientIdentifierImpl.of("test"), MqttClientTransportConfigImpl.DEFAULT,
+            MqttClientExecutorConfigImpl.DEFAULT, MqttClientAdvancedConfig.DEFAULT,
+            MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of()));
+    private final @NotNull TestObserver<List<Mqtt5PublishResult>> observer = new TestObserver<>();
+    private final @NotNull MqttPublish publish1 =
+            new MqttPublishBuilder.Default().topic("topic/1").qos(MqttQos.AT_LEAST_ONCE).build();
+    private final @NotNull MqttPublish publish2 =
+            new MqttPublishBuilder.Default().topic("topic/2").qos(MqttQos.AT_LEAST_ONCE).build();
+
+    @BeforeEach
+    void setUp() {
+        doReturn(channel.eventLoop()).when(clientConfig).acquireEventLoop();
+        doNothing().when(clientConfig).releaseEventLoop();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private @NotNull MqttAckBatch.Flow createFlow(final @NotNull ImmutableList<MqttPublish> publishes) {
+        final MqttAckBatch.Flow flow = new MqttAckBatch.Flow(observer, clientConfig, publishes);
+        observer.onSubscribe(flow);
+        return flow;
+    }
+
+    @Test
+    void onNext_inOrder() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1, publish2));
+        final MqttPublishResult result1 = new MqttPublishResult(publish1, null);
+        final MqttPublishResult result2 = new MqttPublishResult(publish2, null);
+
+        flow.onNext(result1);
+        observer.assertNotComplete();
+        flow.onNext(result2);
+        observer.assertValue(results -> (results.get(0) == result1) && (results.get(1) == result2));
+    }
+
+    @Test
+    void onNext_outOfOrder() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1, publish2, publish1));
+        final MqttPublishResult result1 = new MqttPublishResult(publish1, null);
+        final MqttPublishResult result2 = new MqttPublishResult(publish2, null);
+        final MqttPublishResult result3 = new MqttPublishResult(publish1, null);
+
+        flow.onNext(result2); // first missing result stays at index 0
+        flow.onNext(result1); // first missing result advances past the already received index 1
+        observer.assertNotComplete();
+        flow.onNext(result3);
+        observer.assertValue(
+                results -> (results.get(0) == result1) && (results.get(1) == result2) && (results.get(2) == result3));
+    }
+
+    @Test
+    void onNext_duplicatePublishes_matchedInOrder() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1, publish1, publish1));
+        final MqttPublishResult result1 = new MqttPublishResult(publish1, null);
+        final MqttPublishResult result2 = new MqttPublishResult(publish1, null);
+        final MqttPublishResult result3 = new MqttPublishResult(publish1, null);
+
+        flow.onNext(result1);
+        flow.onNext(result2);
+        flow.onNext(result3);
+        observer.assertValue(
+                results -> (results.get(0) == result1) && (results.get(1) == result2) && (results.get(2) == result3));
+    }
+
+    @Test
+    void onNext_errorResult_emittedAtIndexOfPublish() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1, publish2));
+        final Exception error = new Exception("test");
+        final MqttPublishResult result1 = new MqttPublishResult(publish1, null);
+        final MqttPublishResult result2 = new MqttPublishResult(publish2, error);
+
+        flow.onNext(result2);
+        flow.onNext(result1);
+        observer.assertNoErrors();
+        observer.assertValue(results -> (results.get(0) == result1) && (results.get(1) == result2) &&
+                (results.get(1).getError().orElse(null) == error));
+    }
+
+    @Test
+    void onNext_publishNotInBatch_throws() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1));
+
+        assertThrows(IllegalStateException.class, () -> flow.onNext(new MqttPublishResult(publish2, null)));
+        observer.assertNotComplete();
+    }
+
+    @Test
+    void onNext_publishAlreadyHasResult_throws() {
+        final MqttAckBatch.Flow flow = createFlow(ImmutableList.of(publish1, publish2));
+        flow.onNext(new MqttPublishResult(publish1, null));
+
+        assertThrows(IllegalStateException.class, () -> flow.onNext(new MqttPublishResult(publish1, null)));
+        observer.assertNotComplete();
+    }
+}
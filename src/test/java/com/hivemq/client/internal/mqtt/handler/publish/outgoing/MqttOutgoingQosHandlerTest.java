@@ -0,0 +1,589 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos2CompleteResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos2IntermediateResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos2Result;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttOutgoingQosHandlerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private int flushes;
+    private int unflushedWrites;
+    private final @NotNull List<Integer> flushedWrites = new ArrayList<>();
+    private final @NotNull List<Integer> pendingResendsOnFlush = new ArrayList<>();
+    private long writeDelayNanos;
+    private @Nullable MqttPublish failingPublish;
+    private final @NotNull List<MqttPublish> writtenPublishes = new ArrayList<>();
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttOutgoingQosHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void createHandler(final @NotNull MqttClientAdvancedConfig advancedConfig, final int sendMaximum) {
+        createHandler(advancedConfig, sendMaximum, false);
+    }
+
+    private void createHandler(
+            final @NotNull MqttClientAdvancedConfig advancedConfig, final int sendMaximum, final boolean spyHandler) {
+
+        clientConfig = spy(new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of()));
+        doReturn(channel.eventLoop()).when(clientConfig).acquireEventLoop();
+        doNothing().when(clientConfig).releaseEventLoop();
+        handler = new MqttOutgoingQosHandler(clientConfig);
+        if (spyHandler) {
+            handler = spy(handler);
+        }
+        channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(
+                    final @NotNull ChannelHandlerContext ctx,
+                    final @NotNull Object msg,
+                    final @NotNull ChannelPromise promise) {
+
+                if ((msg instanceof MqttStatefulPublish) &&
+                        (((MqttStatefulPublish) msg).stateless() == failingPublish)) {
+                    promise.setFailure(new EncoderException("test"));
+                } else {
+                    final long writeEndNanos = System.nanoTime() + writeDelayNanos;
+                    //noinspection StatementWithEmptyBody
+                    while (System.nanoTime() - writeEndNanos < 0) {}
+                    unflushedWrites++;
+                    if (msg instanceof MqttStatefulPublish) {
+                        // stateful QoS 0 publishes of fire-and-forget flows are reused, so record at write time
+                        writtenPublishes.add(((MqttStatefulPublish) msg).stateless());
+                    }
+                    ctx.write(msg, promise);
+                }
+            }
+
+            @Override
+            public void flush(final @NotNull ChannelHandlerContext ctx) {
+                flushes++;
+                flushedWrites.add(unflushedWrites);
+                unflushedWrites = 0;
+                pendingResendsOnFlush.add(clientConfig.getStatistics().getPendingResends());
+                ctx.flush();
+            }
+        }, handler);
+        connect(sendMaximum);
+    }
+
+    private void connect(final int sendMaximum) {
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, sendMaximum,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel), channel.eventLoop());
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic(topic).qos(qos).build();
+    }
+
+    private static @NotNull MqttPubAck pubAck(
+            final int packetIdentifier, final @NotNull Mqtt5PubAckReasonCode reasonCode) {
+
+        return new MqttPubAck(packetIdentifier, reasonCode, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private static @NotNull MqttPubRec pubRec(final int packetIdentifier) {
+        return new MqttPubRec(packetIdentifier, Mqtt5PubRecReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private static @NotNull MqttPubComp pubComp(final int packetIdentifier) {
+        return new MqttPubComp(packetIdentifier, Mqtt5PubCompReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private @NotNull MqttStatefulPublish readPublish() {
+        final Object message = channel.readOutbound();
+        assertTrue(message instanceof MqttStatefulPublish);
+        return (MqttStatefulPublish) message;
+    }
+
+    @Test
+    void offer_moreThanSendMaximum_writtenWhenPendingComplete() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 2);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish publish1 = publish("topic/1", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish publish2 = publish("topic/2", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish publish3 = publish("topic/3", MqttQos.AT_LEAST_ONCE);
+
+        handler.offer(new MqttPublishWithFlow(publish1, ackFlow));
+        handler.offer(new MqttPublishWithFlow(publish2, ackFlow));
+        handler.offer(new MqttPublishWithFlow(publish3, ackFlow));
+        channel.runPendingTasks();
+        final MqttStatefulPublish statefulPublish1 = readPublish();
+        assertSame(publish1, statefulPublish1.stateless());
+        assertSame(publish2, readPublish().stateless());
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(pubAck(statefulPublish1.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.runPendingTasks();
+        assertSame(publish3, readPublish().stateless());
+        assertNull(channel.readOutbound());
+        assertEquals(1, ackFlow.acknowledged);
+    }
+
+    @Test
+    void offer_burstOfAcks_singleRunScheduled() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 2, true);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish[] publishes = new MqttPublish[4];
+        for (int i = 0; i < publishes.length; i++) {
+            publishes[i] = publish("topic/" + i, MqttQos.AT_LEAST_ONCE);
+            handler.offer(new MqttPublishWithFlow(publishes[i], ackFlow));
+        }
+        channel.runPendingTasks();
+        final int packetIdentifier1 = readPublish().getPacketIdentifier();
+        final int packetIdentifier2 = readPublish().getPacketIdentifier();
+        assertNull(channel.readOutbound());
+        clearInvocations(handler);
+
+        channel.writeInbound(pubAck(packetIdentifier1, Mqtt5PubAckReasonCode.SUCCESS),
+                pubAck(packetIdentifier2, Mqtt5PubAckReasonCode.SUCCESS));
+        verify(handler, times(1)).run();
+        assertSame(publishes[2], readPublish().stateless());
+        assertSame(publishes[3], readPublish().stateless());
+        assertNull(channel.readOutbound());
+        assertEquals(2, ackFlow.acknowledged);
+    }
+
+    @Test
+    void offerAll_writtenInSinglePassAndFlushedOnce() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestObserver<List<Mqtt5PublishResult>> observer = new TestObserver<>();
+        final ImmutableList<MqttPublish> publishes =
+                ImmutableList.of(publish("topic/1", MqttQos.AT_LEAST_ONCE), publish("topic/2", MqttQos.AT_LEAST_ONCE),
+                        publish("topic/3", MqttQos.AT_LEAST_ONCE));
+        final MqttAckBatch.Flow flow = new MqttAckBatch.Flow(observer, clientConfig, publishes);
+        observer.onSubscribe(flow);
+
+        handler.offerAll(new MqttPublishWithFlow[]{
+                new MqttPublishWithFlow(publishes.get(0), flow), new MqttPublishWithFlow(publishes.get(1), flow),
+                new MqttPublishWithFlow(publishes.get(2), flow)
+        });
+        channel.runPendingTasks();
+        final int[] packetIdentifiers = new int[publishes.size()];
+        for (int i = 0; i < publishes.size(); i++) {
+            final MqttStatefulPublish statefulPublish = readPublish();
+            assertSame(publishes.get(i), statefulPublish.stateless());
+            packetIdentifiers[i] = statefulPublish.getPacketIdentifier();
+        }
+        assertNull(channel.readOutbound());
+        assertEquals(1, flushes);
+
+        // acknowledged out of order, results are still emitted in the order of the batch
+        channel.writeInbound(pubAck(packetIdentifiers[2], Mqtt5PubAckReasonCode.SUCCESS));
+        channel.writeInbound(pubAck(packetIdentifiers[0], Mqtt5PubAckReasonCode.UNSPECIFIED_ERROR));
+        observer.assertNotComplete();
+        channel.writeInbound(pubAck(packetIdentifiers[1], Mqtt5PubAckReasonCode.SUCCESS));
+        observer.assertValueCount(1);
+        final List<Mqtt5PublishResult> results = observer.values().get(0);
+        assertEquals(publishes.size(), results.size());
+        for (int i = 0; i < publishes.size(); i++) {
+            assertSame(publishes.get(i), results.get(i).getPublish());
+            assertEquals(i == 0, results.get(i).getError().isPresent());
+        }
+    }
+
+    @Test
+    void offerAll_moreThanSendMaximum_writtenWhenPendingComplete() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 2);
+        final TestObserver<List<Mqtt5PublishResult>> observer = new TestObserver<>();
+        final ImmutableList<MqttPublish> publishes =
+                ImmutableList.of(publish("topic/1", MqttQos.AT_LEAST_ONCE), publish("topic/2", MqttQos.AT_LEAST_ONCE),
+                        publish("topic/3", MqttQos.AT_LEAST_ONCE));
+        final MqttAckBatch.Flow flow = new MqttAckBatch.Flow(observer, clientConfig, publishes);
+        observer.onSubscribe(flow);
+
+        handler.offerAll(new MqttPublishWithFlow[]{
+                new MqttPublishWithFlow(publishes.get(0), flow), new MqttPublishWithFlow(publishes.get(1), flow),
+                new MqttPublishWithFlow(publishes.get(2), flow)
+        });
+        channel.runPendingTasks();
+        final int packetIdentifier1 = readPublish().getPacketIdentifier();
+        final int packetIdentifier2 = readPublish().getPacketIdentifier();
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(pubAck(packetIdentifier1, Mqtt5PubAckReasonCode.SUCCESS));
+        channel.runPendingTasks();
+        final int packetIdentifier3 = readPublish().getPacketIdentifier();
+        channel.writeInbound(pubAck(packetIdentifier3, Mqtt5PubAckReasonCode.SUCCESS));
+        observer.assertNotComplete();
+        channel.writeInbound(pubAck(packetIdentifier2, Mqtt5PubAckReasonCode.SUCCESS));
+        observer.assertValue(results -> (results.get(0).getPublish() == publishes.get(0)) &&
+                (results.get(1).getPublish() == publishes.get(1)) && (results.get(2).getPublish() == publishes.get(2)));
+    }
+
+    @Test
+    void offerAll_batchNotInterleavedWithOtherPublishes() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 2);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish single1 = publish("single/1", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish single2 = publish("single/2", MqttQos.AT_LEAST_ONCE);
+        final MqttPublish[] batch = {
+                publish("batch/1", MqttQos.AT_LEAST_ONCE), publish("batch/2", MqttQos.AT_LEAST_ONCE),
+                publish("batch/3", MqttQos.AT_LEAST_ONCE)
+        };
+
+        handler.offer(new MqttPublishWithFlow(single1, ackFlow));
+        handler.offerAll(new MqttPublishWithFlow[]{
+                new MqttPublishWithFlow(batch[0], ackFlow), new MqttPublishWithFlow(batch[1], ackFlow),
+                new MqttPublishWithFlow(batch[2], ackFlow)
+        });
+        handler.offer(new MqttPublishWithFlow(single2, ackFlow));
+        channel.runPendingTasks();
+        final MqttStatefulPublish statefulSingle1 = readPublish();
+        assertSame(single1, statefulSingle1.stateless());
+        final MqttStatefulPublish statefulBatch1 = readPublish();
+        assertSame(batch[0], statefulBatch1.stateless());
+        assertNull(channel.readOutbound());
+
+        // the rest of the partially written batch is written before the publish that was enqueued after the batch
+        channel.writeInbound(pubAck(statefulSingle1.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.runPendingTasks();
+        final MqttStatefulPublish statefulBatch2 = readPublish();
+        assertSame(batch[1], statefulBatch2.stateless());
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(pubAck(statefulBatch1.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.runPendingTasks();
+        assertSame(batch[2], readPublish().stateless());
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(pubAck(statefulBatch2.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.runPendingTasks();
+        assertSame(single2, readPublish().stateless());
+        assertNull(channel.readOutbound());
+        assertEquals(3, ackFlow.acknowledged);
+    }
+
+    @Test
+    void fireAndForget_successfulResultsNotEmitted() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<MqttPublishResult> subscriber = new TestSubscriber<>();
+        final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, handler, true);
+        subscriber.onSubscribe(flow);
+        final MqttPublish publish1 = publish("topic/1", MqttQos.AT_MOST_ONCE);
+        final MqttPublish publish2 = publish("topic/2", MqttQos.AT_LEAST_ONCE);
+
+        handler.offer(new MqttPublishWithFlow(publish1, flow));
+        handler.offer(new MqttPublishWithFlow(publish2, flow));
+        channel.runPendingTasks();
+        assertSame(publish1, readPublish().stateless());
+        final MqttStatefulPublish statefulPublish2 = readPublish();
+        assertSame(publish2, statefulPublish2.stateless());
+        channel.writeInbound(pubAck(statefulPublish2.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+
+        flow.onComplete(2);
+        subscriber.assertNoValues();
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void fireAndForget_encodingFailure_emittedForFailedPublish() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<MqttPublishResult> subscriber = new TestSubscriber<>();
+        final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, handler, true);
+        subscriber.onSubscribe(flow);
+        final MqttPublish publish1 = publish("topic/1", MqttQos.AT_MOST_ONCE);
+        final MqttPublish publish2 = publish("topic/2", MqttQos.AT_MOST_ONCE);
+        final MqttPublish publish3 = publish("topic/3", MqttQos.AT_MOST_ONCE);
+        failingPublish = publish2;
+
+        handler.offer(new MqttPublishWithFlow(publish1, flow));
+        handler.offer(new MqttPublishWithFlow(publish2, flow));
+        handler.offer(new MqttPublishWithFlow(publish3, flow));
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList(publish1, publish3), writtenPublishes);
+
+        flow.onComplete(3);
+        subscriber.assertValueCount(1);
+        final MqttPublishResult result = subscriber.values().get(0);
+        assertSame(publish2, result.getPublish());
+        assertTrue(result.getRawError() instanceof EncoderException);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void fireAndForget_qos0_statefulPublishAndFlowWrapperReused() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<MqttPublishResult> subscriber = new TestSubscriber<>();
+        final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, handler, true);
+        subscriber.onSubscribe(flow);
+        final MqttPublish publish1 = publish("topic/1", MqttQos.AT_MOST_ONCE);
+        final MqttPublish publish2 = publish("topic/2", MqttQos.AT_MOST_ONCE);
+
+        final MqttPublishWithFlow publishWithFlow1 = flow.publishWithFlow(publish1);
+        handler.offer(publishWithFlow1);
+        channel.runPendingTasks();
+        final MqttPublishWithFlow publishWithFlow2 = flow.publishWithFlow(publish2);
+        assertSame(publishWithFlow1, publishWithFlow2);
+        assertSame(publish2, publishWithFlow2.getPublish());
+        handler.offer(publishWithFlow2);
+        channel.runPendingTasks();
+
+        assertEquals(Arrays.asList(publish1, publish2), writtenPublishes);
+        final MqttStatefulPublish statefulPublish = readPublish();
+        assertSame(statefulPublish, readPublish());
+        assertEquals(MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, statefulPublish.getPacketIdentifier());
+        assertNull(channel.readOutbound());
+
+        flow.onComplete(2);
+        subscriber.assertNoValues();
+        subscriber.assertComplete();
+    }
+
+    @Test
+    void fireAndForget_encodingFailure_flowWrapperNotReused() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestSubscriber<MqttPublishResult> subscriber = new TestSubscriber<>();
+        final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, handler, true);
+        subscriber.onSubscribe(flow);
+        final MqttPublish publish1 = publish("topic/1", MqttQos.AT_MOST_ONCE);
+        failingPublish = publish1;
+
+        final MqttPublishWithFlow publishWithFlow1 = flow.publishWithFlow(publish1);
+        handler.offer(publishWithFlow1);
+        channel.runPendingTasks();
+        assertNotSame(publishWithFlow1, flow.publishWithFlow(publish("topic/2", MqttQos.AT_MOST_ONCE)));
+        subscriber.assertValueCount(1);
+        assertSame(publish1, subscriber.values().get(0).getPublish());
+    }
+
+    @Test
+    void qos2_intermediateResult() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish publish = publish("topic", MqttQos.EXACTLY_ONCE);
+
+        handler.offer(new MqttPublishWithFlow(publish, ackFlow));
+        channel.runPendingTasks();
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+
+        final MqttPubRec pubRec = pubRec(packetIdentifier);
+        channel.writeInbound(pubRec);
+        assertTrue(channel.readOutbound() instanceof MqttPubRel);
+        assertEquals(1, ackFlow.results.size());
+        final MqttPublishResult result = ackFlow.results.get(0);
+        assertTrue(result instanceof MqttQos2IntermediateResult);
+        assertSame(pubRec, ((MqttQos2IntermediateResult) result).getPubRec());
+        assertEquals(0, ackFlow.acknowledged); // acknowledged by the result and the PUBCOMP
+
+        channel.writeInbound(pubComp(packetIdentifier));
+        assertEquals(1, ackFlow.results.size());
+        assertEquals(1, ackFlow.acknowledged);
+    }
+
+    @Test
+    void qos2CompleteResult_emittedAfterPubComp() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().qos2CompleteResult(true).build(), 10);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish publish = publish("topic", MqttQos.EXACTLY_ONCE);
+
+        handler.offer(new MqttPublishWithFlow(publish, ackFlow));
+        channel.runPendingTasks();
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+
+        final MqttPubRec pubRec = pubRec(packetIdentifier);
+        channel.writeInbound(pubRec);
+        final Object pubRel = channel.readOutbound();
+        assertTrue(pubRel instanceof MqttPubRel);
+        assertEquals(0, ackFlow.results.size());
+
+        final MqttPubComp pubComp = pubComp(packetIdentifier);
+        channel.writeInbound(pubComp);
+        assertEquals(1, ackFlow.results.size());
+        final MqttPublishResult result = ackFlow.results.get(0);
+        assertTrue(result instanceof MqttQos2CompleteResult);
+        final MqttQos2CompleteResult completeResult = (MqttQos2CompleteResult) result;
+        assertSame(publish, completeResult.getPublish());
+        assertSame(pubRec, completeResult.getPubRec());
+        assertSame(pubRel, completeResult.getPubRel());
+        assertSame(pubComp, completeResult.getPubComp());
+        assertFalse(completeResult.getError().isPresent());
+        assertEquals(1, ackFlow.acknowledged);
+    }
+
+    @Test
+    void qos2CompleteResult_sessionEndBeforePubComp_emittedAsError() {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().qos2CompleteResult(true).build(), 10);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish publish = publish("topic", MqttQos.EXACTLY_ONCE);
+
+        handler.offer(new MqttPublishWithFlow(publish, ackFlow));
+        channel.runPendingTasks();
+        final int packetIdentifier = readPublish().getPacketIdentifier();
+        final MqttPubRec pubRec = pubRec(packetIdentifier);
+        channel.writeInbound(pubRec);
+
+        final Exception cause = new Exception("test");
+        handler.onSessionEnd(cause);
+        assertEquals(1, ackFlow.results.size());
+        final MqttPublishResult result = ackFlow.results.get(0);
+        assertFalse(result instanceof MqttQos2CompleteResult);
+        assertTrue(result instanceof MqttQos2Result);
+        assertSame(publish, result.getPublish());
+        assertSame(pubRec, ((MqttQos2Result) result).getPubRec());
+        assertSame(cause, result.getRawError());
+        assertEquals(1, ackFlow.acknowledged);
+    }
+
+    @Test
+    void resend_yieldsAfterTimeSlice() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 1000);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        final MqttPublish[] publishes = new MqttPublish[200];
+        for (int i = 0; i < publishes.length; i++) {
+            publishes[i] = publish("topic/" + i, MqttQos.AT_LEAST_ONCE);
+            handler.offer(new MqttPublishWithFlow(publishes[i], ackFlow));
+        }
+        channel.runPendingTasks();
+        for (final MqttPublish publish : publishes) {
+            assertSame(publish, readPublish().stateless());
+        }
+        flushedWrites.clear();
+        pendingResendsOnFlush.clear();
+
+        // every slice of 64 resends takes longer than the time slice of 1 millisecond
+        writeDelayNanos = TimeUnit.MICROSECONDS.toNanos(20);
+        connect(1000);
+        assertEquals(publishes.length, clientConfig.getStatistics().getPendingResends());
+        final MqttPublish newPublish = publish("topic/new", MqttQos.AT_LEAST_ONCE);
+        handler.offer(new MqttPublishWithFlow(newPublish, ackFlow));
+        channel.runPendingTasks();
+
+        assertEquals(Arrays.asList(64, 64, 64, 8 + 1), flushedWrites);
+        assertEquals(Arrays.asList(136, 72, 8, 0), pendingResendsOnFlush);
+        assertEquals(3, clientConfig.getStatistics().getResendYields());
+        for (final MqttPublish publish : publishes) {
+            final MqttStatefulPublish statefulPublish = readPublish();
+            assertSame(publish, statefulPublish.stateless());
+            assertTrue(statefulPublish.isDup());
+        }
+        // new publishes must not overtake the resent messages
+        final MqttStatefulPublish statefulNewPublish = readPublish();
+        assertSame(newPublish, statefulNewPublish.stateless());
+        assertFalse(statefulNewPublish.isDup());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void resend_lessThanCheckInterval_doesNotYield() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT, 1000);
+        final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+        for (int i = 0; i < 50; i++) {
+            handler.offer(new MqttPublishWithFlow(publish("topic/" + i, MqttQos.AT_LEAST_ONCE), ackFlow));
+        }
+        channel.runPendingTasks();
+        while (channel.readOutbound() != null) {
+            // discard the initially sent publishes
+        }
+        flushedWrites.clear();
+
+        // the time slice is only checked every 64 resends
+        writeDelayNanos = TimeUnit.MICROSECONDS.toNanos(40);
+        connect(1000);
+        channel.runPendingTasks();
+
+        assertEquals(Collections.singletonList(50), flushedWrites);
+        assertEquals(0, clientConfig.getStatistics().getPendingResends());
+        assertEquals(0, clientConfig.getStatistics().getResendYields());
+    }
+
+    static class TestAckFlow extends MqttAckFlow {
+
+        final @NotNull List<MqttPublishResult> results = new ArrayList<>();
+        long acknowledged;
+
+        TestAckFlow(final @NotNull MqttClientConfig clientConfig) {
+            super(clientConfig);
+            init();
+        }
+
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            results.add(result);
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @Override
+        void acknowledged(final long acknowledged) {
+            this.acknowledged += acknowledged;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ */
+class MqttPublishFlowablesMergeTest {
+
+    private static @NotNull MqttPublishWithFlow[] createPublishes(final int count) {
+        final MqttPublish publish = (MqttPublish) Mqtt5Publish.builder().topic("test").build();
+        final MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+        final MqttPublishWithFlow[] publishes = new MqttPublishWithFlow[count];
+        for (int i = 0; i < count; i++) {
+            publishes[i] = new MqttPublishWithFlow(publish, ackFlow);
+        }
+        return publishes;
+    }
+
+    @Test
+    void roundRobin() {
+        final MqttPublishWithFlow[] publishes1 = createPublishes(10);
+        final MqttPublishWithFlow[] publishes2 = createPublishes(2);
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        publishFlowables.add(Flowable.fromArray(publishes1));
+        publishFlowables.add(Flowable.fromArray(publishes2));
+
+        final MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
+        final TestSubscriber<MqttPublishWithFlow> testSubscriber =
+                new MqttPublishFlowablesMerge(publishFlowables, 64, 16, statistics).test(0);
+        testSubscriber.assertNoValues();
+
+        testSubscriber.request(4);
+        testSubscriber.assertValues(publishes1[0], publishes2[0], publishes1[1], publishes2[1]);
+
+        testSubscriber.request(2);
+        testSubscriber.assertValueCount(6);
+        assertEquals(6, statistics.getPublishFlowableMessages());
+    }
+
+    @Test
+    void maxConcurrency() {
+        final MqttPublishWithFlow[] publishes1 = createPublishes(2);
+        final MqttPublishWithFlow[] publishes2 = createPublishes(2);
+        final MqttPublishWithFlow[] publishes3 = createPublishes(2);
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        publishFlowables.add(Flowable.fromArray(publishes1));
+        publishFlowables.add(Flowable.fromArray(publishes2));
+        publishFlowables.add(Flowable.fromArray(publishes3));
+
+        final TestSubscriber<MqttPublishWithFlow> testSubscriber =
+                new MqttPublishFlowablesMerge(publishFlowables, 2, 16, new MqttClientStatisticsImpl()).test(0);
+
+        testSubscriber.request(4);
+        testSubscriber.assertValues(publishes1[0], publishes2[0], publishes1[1], publishes2[1]);
+
+        testSubscriber.request(2);
+        testSubscriber.assertValues(
+                publishes1[0], publishes2[0], publishes1[1], publishes2[1], publishes3[0], publishes3[1]);
+        testSubscriber.assertNotComplete();
+    }
+
+    @Test
+    void cancel_innerSubscriptionsCancelled() {
+        final PublishProcessor<MqttPublishWithFlow> processor1 = PublishProcessor.create();
+        final PublishProcessor<MqttPublishWithFlow> processor2 = PublishProcessor.create();
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        publishFlowables.add(processor1);
+        publishFlowables.add(processor2);
+
+        final TestSubscriber<MqttPublishWithFlow> testSubscriber =
+                new MqttPublishFlowablesMerge(publishFlowables, 64, 16, new MqttClientStatisticsImpl()).test(0);
+        assertTrue(processor1.hasSubscribers());
+        assertTrue(processor2.hasSubscribers());
+
+        testSubscriber.cancel();
+        assertFalse(processor1.hasSubscribers());
+        assertFalse(processor2.hasSubscribers());
+
+        final PublishProcessor<MqttPublishWithFlow> processor3 = PublishProcessor.create();
+        publishFlowables.add(processor3);
+        assertFalse(processor3.hasSubscribers());
+    }
+
+    @Test
+    void complete_afterAllPublishFlowablesCompletedAndEmitted() {
+        final MqttPublishWithFlow[] publishes1 = createPublishes(2);
+        final MqttPublishWithFlow[] publishes2 = createPublishes(1);
+        final PublishProcessor<MqttPublishWithFlow> processor = PublishProcessor.create();
+
+        final TestSubscriber<MqttPublishWithFlow> testSubscriber = new MqttPublishFlowablesMerge(
+                Flowable.just(Flowable.fromArray(publishes1), processor), 64, 16,
+                new MqttClientStatisticsImpl()).test(0);
+        testSubscriber.assertNotComplete();
+
+        testSubscriber.request(2);
+        testSubscriber.assertValues(publishes1[0], publishes1[1]);
+        testSubscriber.assertNotComplete();
+
+        processor.onNext(publishes2[0]);
+        processor.onComplete();
+        testSubscriber.assertNotComplete();
+
+        testSubscriber.request(1);
+        testSubscriber.assertValues(publishes1[0], publishes1[1], publishes2[0]);
+        testSubscriber.assertComplete();
+    }
+
+    @Test
+    void queueingDelay_sampled() {
+        final MqttPublishWithFlow[] publishes =
+                createPublishes(MqttPublishFlowablesMerge.QUEUEING_DELAY_SAMPLE_INTERVAL + 1);
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        publishFlowables.add(Flowable.fromArray(publishes));
+
+        final MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
+        final TestSubscriber<MqttPublishWithFlow> testSubscriber =
+                new MqttPublishFlowablesMerge(publishFlowables, 64, 64, statistics).test();
+        testSubscriber.assertValueCount(publishes.length);
+        assertEquals(publishes.length, statistics.getPublishFlowableMessages());
+        for (int i = 0; i < publishes.length; i++) {
+            final boolean sampled = (i % MqttPublishFlowablesMerge.QUEUEING_DELAY_SAMPLE_INTERVAL) == 0;
+            assertEquals(sampled, publishes[i].queuedNanos != 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttPublishFlowablesTest {
+
+    @Test
+    void add_beforeSubscribe_doesNotBlock() {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final Flowable<MqttPublishWithFlow> publishFlowable1 = Flowable.empty();
+        final Flowable<MqttPublishWithFlow> publishFlowable2 = Flowable.empty();
+        publishFlowables.add(publishFlowable1);
+        publishFlowables.add(publishFlowable2);
+
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = publishFlowables.test(0);
+        testSubscriber.assertNoValues();
+
+        testSubscriber.request(1);
+        testSubscriber.assertValues(publishFlowable1);
+
+        testSubscriber.request(1);
+        testSubscriber.assertValues(publishFlowable1, publishFlowable2);
+    }
+
+    @Test
+    void add_withoutRequests_doesNotBlock() {
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = publishFlowables.test(1);
+
+        for (int i = 0; i < 10; i++) {
+            publishFlowables.add(Flowable.empty());
+        }
+        testSubscriber.assertValueCount(1);
+
+        testSubscriber.request(100);
+        testSubscriber.assertValueCount(10);
+
+        publishFlowables.add(Flowable.empty());
+        testSubscriber.assertValueCount(11);
+    }
+
+    @Test
+    void add_concurrently() throws InterruptedException {
+        final int threadCount = 8;
+        final int addsPerThread = 10_000;
+        final MqttPublishFlowables publishFlowables = new MqttPublishFlowables();
+        final TestSubscriber<Flowable<MqttPublishWithFlow>> testSubscriber = publishFlowables.test(0);
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < addsPerThread; j++) {
+                    publishFlowables.add(Flowable.empty());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (int i = 0; i < threadCount * addsPerThread; i += 1000) {
+            testSubscriber.request(1000);
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount * addsPerThread, testSubscriber.valueCount());
+    }
+}
@@ -31,7 +31,7 @@ class MqttWillPublishTest {
         EqualsVerifier.forClass(MqttWillPublish.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
                 .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withIgnoredFields("confirmable", "payloadBuffer")
                 .withRedefinedSuperclass()
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class NettyByteBufAllocatorUtilTest {
+
+    @Test
+    void create_default() {
+        assertSame(ByteBufAllocator.DEFAULT, NettyByteBufAllocatorUtil.create(MqttClientExecutorConfigImpl.DEFAULT));
+    }
+
+    @Test
+    void create_unpooled() {
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyPooledBuffers(false)
+                        .nettyDirectBuffers(false)
+                        .build();
+        final ByteBufAllocator allocator = NettyByteBufAllocatorUtil.create(executorConfig);
+        assertTrue(allocator instanceof UnpooledByteBufAllocator);
+        final ByteBuf byteBuf = allocator.buffer();
+        assertFalse(byteBuf.isDirect());
+        byteBuf.release();
+    }
+
+    @Test
+    void create_pooled() {
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyBufferArenas(2)
+                        .nettyBufferChunkSize(1 << 16)
+                        .nettyBufferThreadLocalCaches(false)
+                        .build();
+        final ByteBufAllocator allocator = NettyByteBufAllocatorUtil.create(executorConfig);
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        final PooledByteBufAllocatorMetric metric = ((PooledByteBufAllocator) allocator).metric();
+        assertEquals(2, metric.numDirectArenas());
+        assertEquals(2, metric.numHeapArenas());
+        assertEquals(1 << 16, metric.chunkSize());
+        assertEquals(0, metric.smallCacheSize());
+        assertEquals(0, metric.normalCacheSize());
+    }
+
+    @Test
+    void create_pooled_sharedForSameOptions() {
+        final MqttClientExecutorConfigImpl executorConfig1 =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyBufferArenas(3).build();
+        final MqttClientExecutorConfigImpl executorConfig2 =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyBufferArenas(3).build();
+        final MqttClientExecutorConfigImpl executorConfig3 =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyBufferArenas(4).build();
+        final ByteBufAllocator allocator = NettyByteBufAllocatorUtil.create(executorConfig1);
+        assertSame(allocator, NettyByteBufAllocatorUtil.create(executorConfig2));
+        assertNotSame(allocator, NettyByteBufAllocatorUtil.create(executorConfig3));
+    }
+
+    @Test
+    void maxOrder_derivedFromPageSize() {
+        assertEquals(3, NettyByteBufAllocatorUtil.maxOrder(1 << 16, 1 << 13));
+        assertEquals(2, NettyByteBufAllocatorUtil.maxOrder(1 << 16, 1 << 14));
+        assertEquals(0, NettyByteBufAllocatorUtil.maxOrder(1 << 14, 1 << 14));
+    }
+
+    @Test
+    void maxOrder_chunkSizeConflictsWithPageSize_throws() {
+        assertThrows(IllegalArgumentException.class, () -> NettyByteBufAllocatorUtil.maxOrder(1 << 13, 1 << 14));
+        assertThrows(IllegalArgumentException.class, () -> NettyByteBufAllocatorUtil.maxOrder(1 << 27, 1 << 12));
+    }
+
+    @Test
+    void nettyBufferChunkSize_notPowerOf2_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientExecutorConfigImplBuilder.Default().nettyBufferChunkSize((1 << 16) + 1));
+    }
+
+    @Test
+    void nettyBufferChunkSize_tooSmall_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientExecutorConfigImplBuilder.Default().nettyBufferChunkSize(1 << 12));
+    }
+}
@@ -17,12 +17,15 @@
 package com.hivemq.client.internal.util;
 
 import com.google.common.base.Utf8;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 /**
  * @author Silvio Giebl
@@ -43,6 +46,99 @@ class Utf8UtilTest {
         }
     }
 
+    @Test
+    void isWellFormed_mostlyAscii() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        for (int i = 0; i < 10_000; i++) {
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte) random.nextInt(0x80);
+            }
+            for (int j = random.nextInt(4); j > 0; j--) {
+                bytes[random.nextInt(bytes.length)] = (byte) random.nextInt();
+            }
+            assertEquals(Utf8.isWellFormed(bytes), Utf8Util.isWellFormed(bytes) == 0);
+        }
+    }
+
+    @Test
+    void isWellFormed_byteBuffer() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        for (int i = 0; i < 10_000; i++) {
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte) ((random.nextInt(8) == 0) ? random.nextInt() : random.nextInt(0x80));
+            }
+            final boolean expected = Utf8.isWellFormed(bytes, 2, bytes.length - 3);
+            final long result = Utf8Util.isWellFormed(bytes);
+
+            final ByteBuffer heapBuffer = ByteBuffer.wrap(bytes, 2, bytes.length - 3);
+            assertEquals(expected, Utf8Util.isWellFormed(heapBuffer) == 0);
+            assertEquals(expected, Utf8Util.isWellFormed(heapBuffer.slice()) == 0);
+            assertEquals(2, heapBuffer.position());
+
+            directBuffer.clear();
+            directBuffer.put((byte) 0).put(bytes).flip().position(3).limit(bytes.length);
+            assertEquals(expected, Utf8Util.isWellFormed(directBuffer) == 0);
+            assertEquals(3, directBuffer.position());
+
+            directBuffer.position(1).limit(bytes.length + 1);
+            assertEquals(result, Utf8Util.isWellFormed(directBuffer));
+            assertEquals(result, Utf8Util.isWellFormed(directBuffer.asReadOnlyBuffer()));
+        }
+    }
+
+    @Test
+    void isWellFormed_directBuffer_asciiPrefix_errorIndexRelativeToPosition() {
+        final byte[] bytes = "0123456789abcdefghij\u00e4".getBytes(StandardCharsets.UTF_8);
+        bytes[bytes.length - 1] = (byte) 0xFF; // second byte of a 2 byte sequence is not a following byte
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length + 1);
+        directBuffer.put((byte) 0).put(bytes).flip().position(1);
+
+        final long result = Utf8Util.isWellFormed(directBuffer);
+        assertNotEquals(0, result);
+        assertEquals(Utf8Util.isWellFormed(bytes), result);
+        assertEquals(1, directBuffer.position());
+    }
+
+    @Test
+    void isWellFormed_directBuffer_multiByte() {
+        final byte[][] valid = {
+                "\u00e4\u00f6\u00fc".getBytes(StandardCharsets.UTF_8), // 2 bytes
+                "\u20ac\uffff".getBytes(StandardCharsets.UTF_8), // 3 bytes
+                "\ud83d\ude00\udbff\udfff".getBytes(StandardCharsets.UTF_8), // 4 bytes
+        };
+        final byte[][] malformed = {
+                {(byte) 0xC0, (byte) 0x80}, // non shortest form
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80}, // UTF-16 surrogate
+                {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}, // code point > U+10FFFF
+                {(byte) 0xE2, (byte) 0x82}, // missing following byte at the end
+                {(byte) 0xC3, 'a'}, // no following byte
+        };
+        final byte[] asciiPrefix = "0123456789".getBytes(StandardCharsets.UTF_8);
+        for (final byte[] bytes : valid) {
+            final ByteBuffer directBuffer = directBuffer(asciiPrefix, bytes);
+            assertEquals(0, Utf8Util.isWellFormed(directBuffer));
+            assertEquals(1, directBuffer.position());
+        }
+        for (final byte[] bytes : malformed) {
+            final ByteBuffer directBuffer = directBuffer(asciiPrefix, bytes);
+            final byte[] heapBytes = new byte[directBuffer.remaining()];
+            directBuffer.duplicate().get(heapBytes);
+            final long result = Utf8Util.isWellFormed(directBuffer);
+            assertNotEquals(0, result);
+            assertEquals(Utf8Util.isWellFormed(heapBytes), result);
+            assertEquals(1, directBuffer.position());
+        }
+    }
+
+    private static @NotNull ByteBuffer directBuffer(final byte @NotNull [] prefix, final byte @NotNull [] bytes) {
+        final ByteBuffer directBuffer = ByteBuffer.allocateDirect(1 + prefix.length + bytes.length);
+        directBuffer.put((byte) 0).put(prefix).put(bytes).flip().position(1);
+        return directBuffer;
+    }
+
     @Test
     void encodedLength() {
         final Random random = new Random();